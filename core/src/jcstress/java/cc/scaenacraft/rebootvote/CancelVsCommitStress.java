@@ -0,0 +1,66 @@
+// core/src/jcstress/java/cc/scaenacraft/rebootvote/CancelVsCommitStress.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.LLI_Result;
+
+import java.util.List;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * The chat thread takes the last missing OK, the vote that commits an all-OK reboot, while
+ * the main thread runs a tick and then an admin's cancel. If the vote was handed off before
+ * that tick, the reboot commits and the cancel finds nothing to cancel; otherwise the vote
+ * reaches a canceled session and nothing commits. Never both.
+ */
+@JCStressTest
+@Outcome(id = "COUNTDOWN, COMMITTED, 1", expect = ACCEPTABLE, desc = "The vote ran in the tick before the cancel: committed, cancel refused.")
+@Outcome(id = "COUNTDOWN, CANCELED, 0", expect = ACCEPTABLE, desc = "Chat saw the live session; its vote reached main after the cancel.")
+@Outcome(id = "CANCELED, CANCELED, 0", expect = ACCEPTABLE, desc = "Chat saw the cancel and dropped the vote.")
+@Outcome(expect = FORBIDDEN, desc = "A canceled session committed, a commit was lost, or chat saw a torn snapshot.")
+@State
+public class CancelVsCommitStress {
+
+    private final SessionSimulator sim = new SessionSimulator(1L);
+    private final Voter last;
+
+    public CancelVsCommitStress() {
+        List<Voter> online = sim.populate(2);
+        sim.start(60, 0, false);
+        sim.vote(online.get(0), Vote.OK);
+        last = online.get(1);
+    }
+
+    /** Main thread: a tick (running whatever chat queued), then the cancel command. */
+    @Actor
+    public void main() {
+        sim.server.claimOwner();
+        sim.server.tick();
+        sim.cancel();
+    }
+
+    /** ChatListener: snapshot check, gate, then hand the vote to the main thread. */
+    @Actor
+    public void chat(LLI_Result r) {
+        SessionSnapshot s = sim.snapshot();
+        r.r1 = s.phase();
+        if (!s.acceptingVotes()) return;
+        if (sim.admitVote(last, Vote.OK)) sim.server.later(() -> sim.handleVote(last, Vote.OK), 0L);
+    }
+
+    @Arbiter
+    public void nextTick(LLI_Result r) {
+        sim.server.claimOwner();
+        sim.server.tick();
+        r.r2 = sim.snapshot().phase();
+        r.r3 = sim.commitCalls;
+    }
+}
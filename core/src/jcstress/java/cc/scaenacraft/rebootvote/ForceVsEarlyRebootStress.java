@@ -0,0 +1,62 @@
+// core/src/jcstress/java/cc/scaenacraft/rebootvote/ForceVsEarlyRebootStress.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Voter;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.LII_Result;
+
+import java.util.List;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Everyone voted OK, so the reboot is committed and its one-second delay is two ticks from
+ * running. The console queues a /rebootvote force for the main thread while the main thread
+ * ticks. Depending on when the command lands, the force runs before the delayed reboot (on
+ * an ephemeral session) or after it; either way the real session and controller code run
+ * the commit side effects and the reboot action once.
+ */
+@JCStressTest
+@Outcome(id = "EPHEMERAL, 1, 1", expect = ACCEPTABLE, desc = "Force first: it ran the action; the delayed reboot hit the latch.")
+@Outcome(id = "UNDER_WAY, 1, 1", expect = ACCEPTABLE, desc = "Delayed reboot first: the force was turned away.")
+@Outcome(expect = FORBIDDEN, desc = "The commit side effects or the reboot action ran twice (or not at all).")
+@State
+public class ForceVsEarlyRebootStress {
+
+    private final SessionSimulator sim = new SessionSimulator(1L);
+    private volatile SessionController.Force forced;
+
+    public ForceVsEarlyRebootStress() {
+        List<Voter> online = sim.populate(2);
+        sim.start(60, 0, false);
+        for (Voter p : online) sim.vote(p, Vote.OK);
+        sim.server.tick(18);
+    }
+
+    /** Console thread: commands are queued for the main thread. */
+    @Actor
+    public void console() {
+        sim.server.later(() -> forced = sim.force(), 0L);
+    }
+
+    /** Main thread: the last two ticks of the all-OK delay. */
+    @Actor
+    public void main() {
+        sim.server.claimOwner();
+        sim.server.tick(2);
+    }
+
+    @Arbiter
+    public void outcome(LII_Result r) {
+        sim.server.claimOwner();
+        sim.server.tick(2);
+        r.r1 = forced;
+        r.r2 = sim.commitCalls;
+        r.r3 = sim.rebootActions;
+    }
+}
@@ -0,0 +1,73 @@
+// core/src/jcstress/java/cc/scaenacraft/rebootvote/StatsWriteVsShutdownStress.java
+package cc.scaenacraft.rebootvote;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.logging.Logger;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * The watchdog thread records a stalled shutdown while onDisable writes the downtime marker.
+ * Both rewrite the same stats file; neither may lose the other's key.
+ */
+@JCStressTest
+@Outcome(id = "true, true", expect = ACCEPTABLE, desc = "Both writes survived.")
+@Outcome(expect = FORBIDDEN, desc = "One read-modify-write of the stats file overwrote the other.")
+@State
+public class StatsWriteVsShutdownStress {
+
+    private static final Logger LOG = Logger.getLogger("RebootVote-stress");
+    private static final long STARTED_AT_MS = 1_000L;
+
+    private final File dir;
+    private final RebootStatsStore stats;
+
+    public StatsWriteVsShutdownStress() {
+        try {
+            dir = Files.createTempDirectory("rebootvote-stats").toFile();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        stats = new RebootStatsStore(dir, LOG, System.currentTimeMillis());
+        stats.loadAndFinalizePendingIfPresent(); // the async startup load finished long ago
+    }
+
+    @Actor
+    public void watchdog() {
+        stats.recordShutdownStall("main thread in World.save");
+    }
+
+    @Actor
+    public void onDisable() {
+        stats.markRebootInitiatedAt(STARTED_AT_MS);
+    }
+
+    @Arbiter
+    public void nextBoot(ZZ_Result r) {
+        File file = new File(dir, "reboot-stats.yml");
+        Config yml;
+        try {
+            yml = Config.load(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        r.r1 = yml.contains("shutdown_stall");
+        r.r2 = yml.getLong("pending_reboot_started_ms", -1L) == STARTED_AT_MS;
+
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+        //noinspection ResultOfMethodCallIgnored
+        dir.delete();
+    }
+}
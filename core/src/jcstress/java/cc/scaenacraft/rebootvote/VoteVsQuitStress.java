@@ -0,0 +1,61 @@
+// core/src/jcstress/java/cc/scaenacraft/rebootvote/VoteVsQuitStress.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Voter;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.LL_Result;
+
+import java.util.List;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * A chat vote is admitted on the async chat thread while the main thread runs a tick and
+ * the player quits; the player then rejoins and votes the same again. Whether the first
+ * vote was applied before the quit or dropped after it, the rejoined player has no vote.
+ */
+@JCStressTest
+@Outcome(id = "ACCEPT, ACCEPT", expect = ACCEPTABLE, desc = "The rejoined player starts afresh.")
+@Outcome(id = "ACCEPT, DUPLICATE", expect = FORBIDDEN, desc = "The rejoined player's first vote was taken for a repeat.")
+@Outcome(expect = FORBIDDEN, desc = "The gate lost or tore a player's state.")
+@State
+public class VoteVsQuitStress {
+
+    private final SessionSimulator sim = new SessionSimulator(1L);
+    private final Voter leaver;
+
+    public VoteVsQuitStress() {
+        List<Voter> online = sim.populate(2);
+        sim.start(60, 0, false);
+        leaver = online.get(0);
+    }
+
+    /** ChatListener: gate, then hand the vote to the main thread. */
+    @Actor
+    public void chat(LL_Result r) {
+        VoteGate.Decision d = sim.controller.admit(leaver, Vote.OK);
+        r.r1 = d;
+        if (d == VoteGate.Decision.ACCEPT) sim.server.later(() -> sim.handleVote(leaver, Vote.OK), 0L);
+    }
+
+    /** Main thread: a tick (running whatever chat queued), then the quit. */
+    @Actor
+    public void main() {
+        sim.server.claimOwner();
+        sim.server.tick();
+        sim.quit(leaver);
+    }
+
+    @Arbiter
+    public void rejoin(LL_Result r) {
+        sim.server.claimOwner();
+        sim.server.tick();
+        Voter back = sim.rejoin(leaver);
+        r.r2 = sim.vote(back, Vote.OK);
+    }
+}
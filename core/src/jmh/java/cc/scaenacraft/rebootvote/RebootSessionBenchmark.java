@@ -0,0 +1,66 @@
+// core/src/jmh/java/cc/scaenacraft/rebootvote/RebootSessionBenchmark.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Voter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Main-thread cost of a live session on {@link SessionSimulator}: one server tick, one vote
+ * flip, one join/quit pair. The session is held paused by one WAIT vote so it never ends.
+ * Run with {@code -prof gc} for allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RebootSessionBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int players;
+
+    private SessionSimulator sim;
+    private List<Voter> online;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sim = new SessionSimulator(42L);
+        online = sim.populate(players);
+        sim.start(3600, 15, true);
+        sim.handleVote(online.get(0), Vote.WAIT);
+    }
+
+    @Benchmark
+    public void tick() {
+        sim.server.tick();
+    }
+
+    /** A player other than the holder votes OK then WAIT, past the vote gate. */
+    @Benchmark
+    public void voteFlip() {
+        Voter p = online.get(1 + (next++ % (online.size() - 1)));
+        sim.handleVote(p, Vote.OK);
+        sim.handleVote(p, Vote.WAIT);
+    }
+
+    @Benchmark
+    public void joinQuit() {
+        sim.quit(sim.join());
+    }
+}
@@ -0,0 +1,309 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/AuditLog.java
+package cc.scaenacraft.rebootvote;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Session audit trail under plugins/RebootVote/audit/.
+ *
+ * Each finished session is written as a header plus its timeline to a per-day gzip file
+ * (sessions-YYYY-MM-DD.log.gz, read with zcat), and as one tab-separated summary line to
+ * index.tsv, which /rebootvote history reads from the end.
+ *
+ * Sessions are handed over through a bounded queue and written by one background thread
+ * in batches; each batch is appended as its own gzip member, which standard tools read as
+ * one stream. When the queue is full the entry is dropped (and counted) rather than
+ * making the caller wait. Old day files are pruned by age and total size.
+ */
+final class AuditLog {
+
+    /** One finished session. */
+    record Entry(
+            long startedAtMs,
+            long endedAtMs,
+            String outcome,
+            int countdownSeconds,
+            int onlineAtStart,
+            int votes,
+            long pausedMs,
+            List<String> holders,
+            List<String> timeline
+    ) {}
+
+    private static final String INDEX_FILE = "index.tsv";
+    private static final String DAY_PREFIX = "sessions-";
+    private static final String DAY_SUFFIX = ".log.gz";
+
+    // The index is rewritten down to KEEP lines once it passes MAX lines.
+    private static final int INDEX_MAX_LINES = 2000;
+    private static final int INDEX_KEEP_LINES = 1000;
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private final Logger log;
+    private final RebootVoteSettings.AuditSettings settings;
+    private final Path dir;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Thread thread;
+    private volatile boolean running = false;
+    private LocalDate prunedFor = null; // writer thread only
+    private int indexLines = -1;        // writer thread only; -1 = not counted yet
+
+    AuditLog(File dataFolder, Logger log, RebootVoteSettings.AuditSettings settings) {
+        this.log = log;
+        this.settings = settings;
+        this.dir = directory(dataFolder);
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+    }
+
+    static Path directory(File dataFolder) {
+        return dataFolder.toPath().resolve("audit");
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(this::run, "RebootVote-audit");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops accepting entries and writes out whatever is queued (waits up to a few seconds).
+     */
+    void stop() {
+        running = false;
+        if (thread == null) return;
+
+        // No interrupt: the writer notices within one poll and an interrupt could abort a file write.
+        try {
+            thread.join(5000L);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+
+        long lost = dropped.get();
+        if (lost > 0) log.warning("Audit log dropped " + lost + " session(s): queue was full.");
+    }
+
+    /** Never blocks; returns false (and counts the loss) if the queue is full or stopped. */
+    boolean submit(Entry entry) {
+        if (running && queue.offer(entry)) return true;
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            queue.drainTo(batch);
+
+            try {
+                write(batch);
+            } catch (IOException ex) {
+                log.warning("Audit log write failed (" + batch.size() + " session(s) lost): " + ex.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) throws IOException {
+        Files.createDirectories(dir);
+
+        LocalDate today = LocalDate.now();
+        if (!today.equals(prunedFor)) {
+            prune(today);
+            prunedFor = today;
+        }
+
+        String dayFile = DAY_PREFIX + today + DAY_SUFFIX;
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(
+                new BufferedOutputStream(new FileOutputStream(dir.resolve(dayFile).toFile(), true))), StandardCharsets.UTF_8)) {
+            for (Entry e : batch) {
+                out.write(header(e));
+                out.write('\n');
+                for (String line : e.timeline()) {
+                    out.write(line);
+                    out.write('\n');
+                }
+                out.write('\n');
+            }
+        }
+
+        Path index = dir.resolve(INDEX_FILE);
+        try (Writer out = Files.newBufferedWriter(index, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Entry e : batch) {
+                out.write(indexLine(e, dayFile));
+                out.write('\n');
+            }
+        }
+
+        if (indexLines < 0) indexLines = countLines(index);
+        else indexLines += batch.size();
+        if (indexLines > INDEX_MAX_LINES) compactIndex(index);
+    }
+
+    private static String header(Entry e) {
+        return "=== " + TIME.format(Instant.ofEpochMilli(e.startedAtMs()))
+                + " outcome=" + e.outcome()
+                + " took=" + seconds(e.endedAtMs() - e.startedAtMs()) + "s"
+                + " countdown=" + e.countdownSeconds() + "s"
+                + " paused=" + seconds(e.pausedMs()) + "s"
+                + " online_start=" + e.onlineAtStart()
+                + " votes=" + e.votes()
+                + " holders=" + (e.holders().isEmpty() ? "-" : String.join(",", e.holders()));
+    }
+
+    // ended_at_ms  started_at_ms  outcome  votes  paused_ms  holders  day_file
+    private static String indexLine(Entry e, String dayFile) {
+        return e.endedAtMs() + "\t" + e.startedAtMs() + "\t" + e.outcome() + "\t" + e.votes()
+                + "\t" + e.pausedMs() + "\t" + (e.holders().isEmpty() ? "-" : String.join(",", e.holders()))
+                + "\t" + dayFile;
+    }
+
+    private void prune(LocalDate today) {
+        List<Path> days = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, DAY_PREFIX + "*" + DAY_SUFFIX)) {
+            files.forEach(days::add);
+        } catch (IOException ex) {
+            log.warning("Audit log prune failed: " + ex.getMessage());
+            return;
+        }
+        days.sort(Comparator.comparing(p -> p.getFileName().toString())); // ISO dates: oldest first
+
+        LocalDate cutoff = today.minusDays(settings.maxAgeDays());
+        long total = 0L;
+        Map<Path, Long> sizes = new HashMap<>();
+        for (Path p : days) {
+            long size = p.toFile().length();
+            sizes.put(p, size);
+            total += size;
+        }
+
+        for (Path p : days) {
+            LocalDate day = dayOf(p);
+            boolean tooOld = day != null && day.isBefore(cutoff);
+            boolean overSize = total > settings.maxTotalBytes() && (day == null || day.isBefore(today));
+            if (!tooOld && !overSize) continue;
+
+            try {
+                Files.deleteIfExists(p);
+                total -= sizes.get(p);
+            } catch (IOException ex) {
+                log.warning("Could not delete old audit file " + p.getFileName() + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private static LocalDate dayOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return LocalDate.parse(name.substring(DAY_PREFIX.length(), name.length() - DAY_SUFFIX.length()));
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static int countLines(Path file) throws IOException {
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return (int) lines.count();
+        }
+    }
+
+    private void compactIndex(Path index) throws IOException {
+        List<String> keep = readTail(index, INDEX_KEEP_LINES);
+        Path tmp = index.resolveSibling(INDEX_FILE + ".tmp");
+        Files.write(tmp, keep, StandardCharsets.UTF_8);
+        Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexLines = keep.size();
+    }
+
+    /**
+     * Most recent {@code n} sessions from the index, newest first, formatted for chat.
+     * Reads only the end of the index file; call off the main thread.
+     */
+    static List<String> history(File dataFolder, int n) throws IOException {
+        Path index = directory(dataFolder).resolve(INDEX_FILE);
+        if (!Files.exists(index)) return List.of();
+
+        List<String> lines = readTail(index, n);
+        List<String> out = new ArrayList<>(lines.size());
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            String[] f = lines.get(i).split("\t", -1);
+            if (f.length < 7) continue;
+            try {
+                long ended = Long.parseLong(f[0]);
+                long started = Long.parseLong(f[1]);
+                out.add(TIME.format(Instant.ofEpochMilli(started))
+                        + " " + f[2]
+                        + " | took " + seconds(ended - started) + "s"
+                        + " | votes " + f[3]
+                        + " | paused " + seconds(Long.parseLong(f[4])) + "s"
+                        + " | holders " + f[5]);
+            } catch (NumberFormatException ex) {
+                // skip a damaged line
+            }
+        }
+        return out;
+    }
+
+    /** Last {@code n} lines of a text file, oldest first, reading backwards in blocks. */
+    private static List<String> readTail(Path file, int n) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long pos = raf.length();
+            byte[] block = new byte[8192];
+            ByteArrayOutputStream tail = new ByteArrayOutputStream();
+            int newlines = 0;
+
+            while (pos > 0 && newlines <= n) {
+                int len = (int) Math.min(block.length, pos);
+                pos -= len;
+                raf.seek(pos);
+                raf.readFully(block, 0, len);
+                for (int i = 0; i < len; i++) if (block[i] == '\n') newlines++;
+
+                byte[] merged = new byte[len + tail.size()];
+                System.arraycopy(block, 0, merged, 0, len);
+                System.arraycopy(tail.toByteArray(), 0, merged, len, tail.size());
+                tail.reset();
+                tail.write(merged);
+            }
+
+            List<String> all = new ArrayList<>();
+            for (String line : tail.toString(StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank()) all.add(line);
+            }
+            // The first line may be a partial one cut by the block boundary.
+            if (pos > 0 && !all.isEmpty()) all.remove(0);
+            return all.size() <= n ? all : new ArrayList<>(all.subList(all.size() - n, all.size()));
+        }
+    }
+
+    private static String seconds(long ms) {
+        return String.format(Locale.ROOT, "%.1f", ms / 1000.0);
+    }
+}
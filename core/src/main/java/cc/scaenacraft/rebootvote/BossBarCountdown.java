@@ -0,0 +1,129 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/BossBarCountdown.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Platform;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+
+import java.util.*;
+
+/**
+ * Live countdown boss bar: one shared bar per locale variant of the templates, so each
+ * title is rendered once per update no matter how many players see it.
+ *
+ * Updates are delta-only: the title is re-rendered and pushed only when a
+ * displayed value (seconds, holder count, paused) changes, and while the server is
+ * over its tick budget pushes are limited to one every few seconds (pause/resume
+ * always goes through immediately).
+ *
+ * Main thread only.
+ */
+final class BossBarCountdown {
+
+    private final Platform platform;
+    private final MessageService messages;
+    private final TemplatePools pools;
+    private final RebootVoteSettings.BossBarSettings settings;
+    private final Map<TemplatePools, BossBar> bars = new IdentityHashMap<>(); // locale variant -> bar
+    private final Map<UUID, BossBar> viewing = new HashMap<>();
+
+    private boolean shown = false;
+
+    private int lastSeconds = -1;
+    private int lastTotal = 0;
+    private int lastHolderCount = -1;
+    private boolean lastPaused = false;
+    private Placeholders lastValues;
+    private long lastPushAtMs = 0L;
+
+    BossBarCountdown(Platform platform, MessageService messages, TemplatePools pools, RebootVoteSettings.BossBarSettings settings) {
+        this.platform = platform;
+        this.messages = messages;
+        this.pools = pools;
+        this.settings = settings;
+    }
+
+    void show() {
+        if (shown) return;
+        shown = true;
+        for (Voter p : platform.players().online()) showTo(p, p.locale());
+    }
+
+    /** Late joiners, and players whose client locale changed (may move them to another bar). */
+    void showTo(Voter player, Locale locale) {
+        if (!shown) return;
+
+        BossBar bar = barFor(pools.forLocale(locale));
+        BossBar old = viewing.put(player.id(), bar);
+        if (old == bar) return;
+        if (old != null) player.hideBossBar(old);
+        player.showBossBar(bar);
+    }
+
+    void forget(Voter player) {
+        viewing.remove(player.id());
+    }
+
+    void hide() {
+        if (!shown) return;
+        shown = false;
+        for (Map.Entry<UUID, BossBar> e : viewing.entrySet()) {
+            Voter p = platform.players().player(e.getKey());
+            if (p != null) p.hideBossBar(e.getValue());
+        }
+        viewing.clear();
+    }
+
+    private BossBar barFor(TemplatePools variant) {
+        BossBar bar = bars.get(variant);
+        if (bar != null) return bar;
+
+        bar = BossBar.bossBar(Component.empty(), 1.0f, lastPaused ? settings.pausedColor() : settings.color(), settings.overlay());
+        bars.put(variant, bar);
+        if (lastValues != null) paint(variant, bar); // created mid-countdown: catch up with the others
+        return bar;
+    }
+
+    /**
+     * Pushes the current countdown state if anything visible changed.
+     */
+    void update(int remainingSeconds, int totalSeconds, boolean paused, Placeholders values) {
+        if (!shown) return;
+
+        int holderCount = values.holderCount();
+        boolean pauseChanged = paused != lastPaused;
+        if (!pauseChanged && remainingSeconds == lastSeconds && holderCount == lastHolderCount) return;
+
+        long now = platform.clock().millis();
+        if (!pauseChanged && isOverTickBudget()
+                && (now - lastPushAtMs) < settings.throttledUpdateSeconds() * 1000L) {
+            return;
+        }
+
+        lastSeconds = remainingSeconds;
+        lastTotal = totalSeconds;
+        lastHolderCount = holderCount;
+        lastPaused = paused;
+        lastValues = values;
+        lastPushAtMs = now;
+
+        for (Map.Entry<TemplatePools, BossBar> e : bars.entrySet()) {
+            paint(e.getKey(), e.getValue());
+            if (pauseChanged) e.getValue().color(paused ? settings.pausedColor() : settings.color());
+        }
+    }
+
+    private void paint(TemplatePools variant, BossBar bar) {
+        String template = lastPaused ? variant.bossBarPausedTitle : variant.bossBarTitle;
+        Component title = messages.render(variant, template, lastValues);
+        bar.name(title != null ? title : Component.text(lastSeconds + "s"));
+
+        float progress = lastTotal <= 0 ? 0f : Math.max(0f, Math.min(1f, lastSeconds / (float) lastTotal));
+        bar.progress(progress);
+    }
+
+    private boolean isOverTickBudget() {
+        return platform.server().averageTickMs() > settings.throttleAboveMspt();
+    }
+}
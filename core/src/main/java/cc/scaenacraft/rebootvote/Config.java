@@ -0,0 +1,268 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/Config.java
+package cc.scaenacraft.rebootvote;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * A YAML document addressed by dotted paths ("reboot.transfer.host"), read the way Bukkit's
+ * configuration API reads one, so settings and stats parse without a server:
+ * <ul>
+ *   <li>{@code getX(path)} falls back to the defaults document, {@code getX(path, def)} to {@code def};</li>
+ *   <li>{@link #getSection} of a path only the defaults have is an empty section over those defaults;</li>
+ *   <li>{@link #contains} and {@link #getKeys} only see this document.</li>
+ * </ul>
+ *
+ * Not thread-safe; settings are parsed from one on a single thread, then dropped.
+ */
+final class Config {
+
+    private final Map<String, Object> values;
+    private final Config defaults; // may be null
+
+    private Config(Map<String, Object> values, Config defaults) {
+        this.values = values;
+        this.defaults = defaults;
+    }
+
+    static Config empty() {
+        return new Config(new LinkedHashMap<>(), null);
+    }
+
+    /** A missing file is an empty document; invalid YAML is an IOException. */
+    static Config load(File file) throws IOException {
+        if (!file.isFile()) return empty();
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    static Config load(Reader reader) throws IOException {
+        Object root;
+        try {
+            root = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+        } catch (YAMLException ex) {
+            throw new IOException("invalid YAML: " + ex.getMessage(), ex);
+        }
+        if (root == null) return empty();
+        if (!(root instanceof Map<?, ?> map)) throw new IOException("top level is not a mapping");
+        return new Config(normalize(map), null);
+    }
+
+    /** This document with {@code defaults} consulted for what it leaves out. */
+    Config withDefaults(Config defaults) {
+        return new Config(values, defaults);
+    }
+
+    /* -------------------------------------------------------------------------
+     * Reading
+     * ---------------------------------------------------------------------- */
+
+    /** True if this document (not its defaults) has a value at {@code path}. */
+    boolean contains(String path) {
+        return own(path) != null;
+    }
+
+    /** The value at {@code path}, or the defaults' value. Sections are {@code Map}s. */
+    Object get(String path) {
+        Object v = own(path);
+        if (v == null && defaults != null) v = defaults.get(path);
+        return v;
+    }
+
+    Object get(String path, Object def) {
+        Object v = own(path);
+        return v != null ? v : def;
+    }
+
+    String getString(String path) {
+        Object v = get(path);
+        return v != null && !(v instanceof Map) ? v.toString() : null;
+    }
+
+    String getString(String path, String def) {
+        Object v = get(path, def);
+        return v != null && !(v instanceof Map) ? v.toString() : def;
+    }
+
+    int getInt(String path, int def) {
+        return get(path, def) instanceof Number n ? n.intValue() : def;
+    }
+
+    long getLong(String path, long def) {
+        return get(path, def) instanceof Number n ? n.longValue() : def;
+    }
+
+    double getDouble(String path, double def) {
+        return get(path, def) instanceof Number n ? n.doubleValue() : def;
+    }
+
+    boolean getBoolean(String path, boolean def) {
+        return get(path, def) instanceof Boolean b ? b : def;
+    }
+
+    /** Strings and scalars as text; anything else in the list is skipped. */
+    List<String> getStringList(String path) {
+        List<String> out = new ArrayList<>();
+        for (Object o : list(path)) {
+            if (o instanceof String || o instanceof Number || o instanceof Boolean || o instanceof Character) {
+                out.add(String.valueOf(o));
+            }
+        }
+        return out;
+    }
+
+    List<Integer> getIntegerList(String path) {
+        List<Integer> out = new ArrayList<>();
+        for (Object o : list(path)) {
+            if (o instanceof Number n) {
+                out.add(n.intValue());
+            } else if (o instanceof String s) {
+                try {
+                    out.add(Integer.valueOf(s.trim()));
+                } catch (NumberFormatException ignored) {
+                    // skipped, like any other non-number
+                }
+            }
+        }
+        return out;
+    }
+
+    List<Long> getLongList(String path) {
+        List<Long> out = new ArrayList<>();
+        for (Object o : list(path)) {
+            if (o instanceof Number n) {
+                out.add(n.longValue());
+            } else if (o instanceof String s) {
+                try {
+                    out.add(Long.valueOf(s.trim()));
+                } catch (NumberFormatException ignored) {
+                    // skipped, like any other non-number
+                }
+            }
+        }
+        return out;
+    }
+
+    private List<?> list(String path) {
+        return get(path) instanceof List<?> l ? l : List.of();
+    }
+
+    boolean isSection(String path) {
+        return get(path) instanceof Map;
+    }
+
+    /**
+     * The section at {@code path} with the matching defaults section behind it; null if
+     * neither document has a section there.
+     */
+    @SuppressWarnings("unchecked")
+    Config getSection(String path) {
+        Object v = own(path);
+        Config defaultSection = defaults != null ? defaults.getSection(path) : null;
+        if (v instanceof Map<?, ?> map) return new Config((Map<String, Object>) map, defaultSection);
+        if (v == null && defaultSection != null) return new Config(new LinkedHashMap<>(), defaultSection);
+        return null;
+    }
+
+    /** Keys directly under this section, in file order (defaults not included). */
+    Set<String> getKeys() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    /**
+     * Every leaf under {@code path} by its path relative to it (a lone value maps from
+     * {@code path} itself); what {@link #get} sees, so a section only the defaults have
+     * counts as theirs. Empty if there is nothing there.
+     */
+    Map<String, Object> leaves(String path) {
+        Object v = get(path);
+        if (v == null) return Map.of();
+        if (!(v instanceof Map<?, ?> map)) return Map.of(path, v);
+
+        Map<String, Object> out = new HashMap<>();
+        flatten("", map, out);
+        return out;
+    }
+
+    private static void flatten(String prefix, Map<?, ?> map, Map<String, Object> out) {
+        for (Map.Entry<?, ?> e : map.entrySet()) {
+            String key = prefix + e.getKey();
+            if (e.getValue() instanceof Map<?, ?> sub) flatten(key + ".", sub, out);
+            else out.put(key, e.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object own(String path) {
+        Map<String, Object> node = values;
+        int start = 0;
+        while (true) {
+            int dot = path.indexOf('.', start);
+            if (dot < 0) return node.get(path.substring(start));
+            if (!(node.get(path.substring(start, dot)) instanceof Map<?, ?> sub)) return null;
+            node = (Map<String, Object>) sub;
+            start = dot + 1;
+        }
+    }
+
+    /* -------------------------------------------------------------------------
+     * Writing
+     * ---------------------------------------------------------------------- */
+
+    /** Sets (or with null, removes) the value at {@code path}, creating sections on the way. */
+    @SuppressWarnings("unchecked")
+    void set(String path, Object value) {
+        Map<String, Object> node = values;
+        int start = 0;
+        int dot;
+        while ((dot = path.indexOf('.', start)) >= 0) {
+            String key = path.substring(start, dot);
+            Object sub = node.get(key);
+            if (!(sub instanceof Map)) {
+                if (value == null) return;
+                sub = new LinkedHashMap<String, Object>();
+                node.put(key, sub);
+            }
+            node = (Map<String, Object>) sub;
+            start = dot + 1;
+        }
+
+        String key = path.substring(start);
+        if (value == null) node.remove(key);
+        else node.put(key, value);
+    }
+
+    void save(File file) throws IOException {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setIndent(2);
+        Yaml yaml = new Yaml(new Representer(options), options);
+
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            yaml.dump(values, out);
+        }
+    }
+
+    /** YAML keys may be numbers or booleans; paths are strings. */
+    private static Map<String, Object> normalize(Map<?, ?> map) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> e : map.entrySet()) {
+            Object v = e.getValue();
+            out.put(String.valueOf(e.getKey()), v instanceof Map<?, ?> sub ? normalize(sub) : v);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,141 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/IdleSampler.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Platform;
+import cc.scaenacraft.rebootvote.platform.TaskScheduler;
+import cc.scaenacraft.rebootvote.platform.Voter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cheap AFK detection without a PlayerMoveEvent handler.
+ *
+ * Every tick a small batch of players is sampled so that each online player is visited
+ * once per sample interval. A player whose position and rotation did not change, and
+ * who has not chatted/interacted/voted, for the idle threshold counts as idle.
+ *
+ * Runs for the whole uptime (a vote needs to know who was already AFK before it started);
+ * the per-tick cost is a handful of players. Idle transitions are pushed to a
+ * {@link Listener} (the {@link SessionController}, which forwards them to the live session).
+ */
+final class IdleSampler {
+
+    /** Receives idle transitions. Main thread. */
+    @FunctionalInterface
+    interface Listener {
+        void idleChanged(UUID playerId, boolean idle);
+    }
+
+    private static final class Sample {
+        Voter.Position position;
+        boolean idle;
+    }
+
+    private final Platform platform;
+    private final Listener listener;
+    private final long thresholdMs;
+    private final int sampleIntervalTicks;
+
+    /** Last activity time per player. Written from async chat too, hence concurrent. */
+    private final Map<UUID, Long> lastActiveAt = new ConcurrentHashMap<>();
+
+    /** Main thread only. */
+    private final Map<UUID, Sample> samples = new HashMap<>();
+    private UUID[] cycle = new UUID[0];
+    private int cursor = 0;
+
+    private TaskScheduler.Task task;
+
+    IdleSampler(Platform platform, RebootVoteSettings.IdleSettings settings, Listener listener) {
+        this.platform = platform;
+        this.listener = listener;
+        this.thresholdMs = settings.thresholdSeconds() * 1000L;
+        this.sampleIntervalTicks = settings.sampleIntervalSeconds() * 20;
+    }
+
+    void start() {
+        if (task != null) return;
+        task = platform.scheduler().repeat(this::tick, 1L, 1L);
+    }
+
+    void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    boolean isIdle(UUID id) {
+        Long last = lastActiveAt.get(id);
+        return last != null && platform.clock().millis() - last >= thresholdMs;
+    }
+
+    /**
+     * Records chat/interaction/vote activity. Safe from any thread; on the main thread
+     * an idle player is flipped back to active immediately.
+     */
+    void noteActivity(UUID id) {
+        lastActiveAt.put(id, platform.clock().millis());
+
+        if (!platform.scheduler().isOwnerThread()) return; // picked up at the next sample
+        Sample s = samples.get(id);
+        if (s != null && s.idle) {
+            s.idle = false;
+            listener.idleChanged(id, false);
+        }
+    }
+
+    private void tick() {
+        if (cursor >= cycle.length) beginCycle();
+        if (cycle.length == 0) return;
+
+        int batch = (cycle.length + sampleIntervalTicks - 1) / sampleIntervalTicks;
+        long now = platform.clock().millis();
+
+        for (int i = 0; i < batch && cursor < cycle.length; i++) {
+            sample(cycle[cursor++], now);
+        }
+    }
+
+    private void beginCycle() {
+        Collection<? extends Voter> online = platform.players().online();
+        UUID[] next = new UUID[online.size()];
+        int n = 0;
+        for (Voter p : online) {
+            if (n == next.length) break;
+            next[n++] = p.id();
+        }
+        cycle = n == next.length ? next : Arrays.copyOf(next, n);
+        cursor = 0;
+
+        // Forget players who left since the last cycle.
+        if (samples.size() > cycle.length) {
+            Set<UUID> present = new HashSet<>(Arrays.asList(cycle));
+            samples.keySet().retainAll(present);
+            lastActiveAt.keySet().retainAll(present);
+        }
+    }
+
+    private void sample(UUID id, long now) {
+        Voter p = platform.players().player(id);
+        if (p == null) return;
+
+        Voter.Position position = p.position();
+        Sample s = samples.get(id);
+        if (s == null) {
+            s = new Sample();
+            samples.put(id, s);
+            lastActiveAt.putIfAbsent(id, now);
+        } else if (!position.equals(s.position)) {
+            lastActiveAt.put(id, now);
+        }
+        s.position = position;
+
+        boolean idle = isIdle(id);
+        if (idle != s.idle) {
+            s.idle = idle;
+            listener.idleChanged(id, idle);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/LocaleAudiences.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Voter;
+
+import java.util.*;
+
+/**
+ * Online players grouped by {@link Recipients} segment and then by client locale, so a
+ * broadcast can be rendered once per locale and sent to each group as one audience.
+ *
+ * While tracking (i.e. during a session) every segment is kept current by join, quit,
+ * vote and locale-change events; a player's rebootvote.admin check is done once, when
+ * they are added, and cached for the session. Outside a session
+ * {@link #groups(Recipients, Collection)} groups on demand (there are no votes then).
+ *
+ * Main thread only.
+ */
+final class LocaleAudiences {
+
+    static final String STAFF_PERMISSION = "rebootvote.admin";
+
+    /** What decides a player's segments; the segment maps are derived from these. */
+    private static final class Member {
+        final Voter player;
+        final boolean staff;
+        Locale locale;
+        Vote vote = Vote.NONE;
+
+        Member(Voter player, Locale locale) {
+            this.player = player;
+            this.staff = player.hasPermission(STAFF_PERMISSION);
+            this.locale = locale;
+        }
+
+        boolean in(Recipients segment) {
+            return switch (segment) {
+                case EVERYONE -> true;
+                case NON_VOTERS -> vote == Vote.NONE;
+                case HOLDERS -> vote == Vote.WAIT;
+                case STAFF -> staff;
+            };
+        }
+    }
+
+    private final Map<UUID, Member> members = new HashMap<>();
+    private final EnumMap<Recipients, Map<Locale, Map<UUID, Voter>>> segments = new EnumMap<>(Recipients.class);
+    private boolean tracking = false;
+
+    LocaleAudiences() {
+        for (Recipients r : Recipients.values()) segments.put(r, new HashMap<>());
+    }
+
+    void startTracking(Collection<? extends Voter> online) {
+        clear();
+        for (Voter p : online) add(new Member(p, p.locale()));
+        tracking = true;
+    }
+
+    void stopTracking() {
+        tracking = false;
+        clear();
+    }
+
+    void onJoin(Voter player) {
+        if (tracking) add(new Member(player, player.locale()));
+    }
+
+    void onQuit(Voter player) {
+        if (!tracking) return;
+        Member m = members.remove(player.id());
+        if (m != null) unindex(m);
+    }
+
+    /** The client reports its locale shortly after joining and whenever the player changes it. */
+    void onLocaleChange(Voter player, Locale locale) {
+        Member m = tracking ? members.get(player.id()) : null;
+        if (m == null) return;
+        unindex(m);
+        m.locale = locale;
+        index(m);
+    }
+
+    void onVote(Voter player, Vote vote) {
+        Member m = tracking ? members.get(player.id()) : null;
+        if (m == null || m.vote == vote) return;
+        unindex(m);
+        m.vote = vote;
+        index(m);
+    }
+
+    /**
+     * Locale -> players in {@code segment}. Live views while tracking; otherwise built from {@code online}.
+     */
+    Map<Locale, Collection<Voter>> groups(Recipients segment, Collection<? extends Voter> online) {
+        Map<Locale, Collection<Voter>> map = new HashMap<>();
+        if (tracking) {
+            segments.get(segment).forEach((locale, players) -> map.put(locale, players.values()));
+            return map;
+        }
+
+        if (segment == Recipients.HOLDERS) return map;
+        for (Voter p : online) {
+            if (segment == Recipients.STAFF && !p.hasPermission(STAFF_PERMISSION)) continue;
+            map.computeIfAbsent(p.locale(), k -> new ArrayList<>()).add(p);
+        }
+        return map;
+    }
+
+    private void clear() {
+        members.clear();
+        segments.values().forEach(Map::clear);
+    }
+
+    private void add(Member m) {
+        Member old = members.put(m.player.id(), m);
+        if (old != null) unindex(old);
+        index(m);
+    }
+
+    private void index(Member m) {
+        for (Recipients r : Recipients.values()) {
+            if (!m.in(r)) continue;
+            segments.get(r).computeIfAbsent(m.locale, k -> new HashMap<>()).put(m.player.id(), m.player);
+        }
+    }
+
+    private void unindex(Member m) {
+        for (Recipients r : Recipients.values()) {
+            Map<Locale, Map<UUID, Voter>> byLocale = segments.get(r);
+            Map<UUID, Voter> players = byLocale.get(m.locale);
+            if (players == null) continue;
+            players.remove(m.player.id());
+            if (players.isEmpty()) byLocale.remove(m.locale);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/MessageService.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Platform;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.event.ClickCallback;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class MessageService {
+
+    /** Same permission as /ok and /wait (plugin.yml). */
+    static final String VOTE_PERMISSION = "rebootvote.vote";
+
+    private static final Pattern PALETTE_OPEN = Pattern.compile("<c\\.([a-zA-Z0-9_-]+)>");
+    private static final Pattern PALETTE_CLOSE = Pattern.compile("</c\\.([a-zA-Z0-9_-]+)>");
+
+    // Click callbacks expire server-side; rebuild well before that so old chat lines keep working.
+    private static final Duration BUTTON_LIFETIME = Duration.ofHours(48);
+    private static final long BUTTON_REFRESH_AFTER_MS = Duration.ofHours(24).toMillis();
+
+    private final Logger log;
+    private final Platform platform;
+    /** Timeline for broadcast/render spans; may be null. */
+    private final TraceRecorder trace;
+    /** Where button clicks go. */
+    private final VoteIngress votes;
+    private final MiniMessage mini;
+    private final RenderCache renderCache;
+    private final LocaleAudiences audiences = new LocaleAudiences();
+    private volatile Map<String, String> paletteTags; // name -> "<#RRGGBB>"; also read by renderDetached
+
+    private TemplatePools buttonPools;
+    // <ok_button> / <wait_button> per pool set (locale variants may relabel them); built lazily
+    private final Map<TemplatePools, TagResolver> buttonTags = new IdentityHashMap<>();
+    private long buttonsBuiltAtMs = 0L;
+
+    MessageService(Logger log, Platform platform, TraceRecorder trace, VoteIngress votes) {
+        this.log = log;
+        this.platform = platform;
+        this.trace = trace;
+        this.votes = votes;
+        this.mini = MiniMessage.miniMessage();
+        this.renderCache = new RenderCache(0);
+        this.paletteTags = Collections.emptyMap();
+    }
+
+    /**
+     * Applies a new settings snapshot's palette. Main thread only (drops cached renders).
+     */
+    public void reloadPalette(RebootVoteSettings settings) {
+        renderCache.invalidate();
+        renderCache.resize(settings.renderCacheMaxEntries);
+        this.paletteTags = settings.palette;
+        rebuildButtons(settings.pools);
+    }
+
+    /**
+     * Re-creates the vote buttons if their click callbacks are getting old.
+     * Called when a session starts; main thread only.
+     */
+    public void ensureFreshButtons() {
+        if (buttonPools == null) return;
+        if (platform.clock().millis() - buttonsBuiltAtMs < BUTTON_REFRESH_AFTER_MS) return;
+
+        rebuildButtons(buttonPools);
+        renderCache.invalidate(); // cached blocks embed the old callbacks
+    }
+
+    private void rebuildButtons(TemplatePools pools) {
+        this.buttonPools = pools;
+        this.buttonTags.clear();
+        this.buttonsBuiltAtMs = platform.clock().millis();
+    }
+
+    private TagResolver buttonsFor(TemplatePools pools) {
+        return buttonTags.computeIfAbsent(pools, p -> TagResolver.resolver(
+                TagResolver.resolver("ok_button", Tag.selfClosingInserting(button(p.okButton, Vote.OK))),
+                TagResolver.resolver("wait_button", Tag.selfClosingInserting(button(p.waitButton, Vote.WAIT)))
+        ));
+    }
+
+    /* -------------------------------------------------------------------------
+     * Audiences by segment and locale (kept incrementally while a session runs)
+     * ---------------------------------------------------------------------- */
+
+    public void startAudienceTracking() {
+        audiences.startTracking(platform.players().online());
+    }
+
+    public void stopAudienceTracking() {
+        audiences.stopTracking();
+    }
+
+    public void noteJoin(Voter player) {
+        audiences.onJoin(player);
+    }
+
+    public void noteQuit(Voter player) {
+        audiences.onQuit(player);
+    }
+
+    public void noteLocaleChange(Voter player, Locale locale) {
+        audiences.onLocaleChange(player, locale);
+    }
+
+    public void noteVote(Voter player, Vote vote) {
+        audiences.onVote(player, vote);
+    }
+
+    private Component button(String labelTemplate, Vote vote) {
+        Component label = null;
+        if (labelTemplate != null && !labelTemplate.isBlank()) {
+            label = parseBlock(preprocessPaletteTokens(labelTemplate, paletteTags), TagResolver.empty());
+        }
+        if (label == null) label = Component.text("[" + vote.name() + "]");
+
+        return label
+                .hoverEvent(HoverEvent.showText(Component.text("Click to vote " + vote.name().toLowerCase(Locale.ROOT))))
+                .clickEvent(ClickEvent.callback(
+                        audience -> onButtonClicked(audience, vote),
+                        opts -> opts.uses(ClickCallback.UNLIMITED_USES).lifetime(BUTTON_LIFETIME)
+                ));
+    }
+
+    private void onButtonClicked(Audience audience, Vote vote) {
+        Voter player = platform.players().player(audience);
+        if (player == null) return;
+        if (!player.hasPermission(VOTE_PERMISSION)) return;
+        if (!votes.admitVote(player, vote)) return;
+
+        if (platform.scheduler().isOwnerThread()) {
+            votes.handleVote(player, vote);
+        } else {
+            platform.scheduler().later(() -> votes.handleVote(player, vote), 0L);
+        }
+    }
+
+    /** Keeps the cached renders that still fit (settings outside palette/messages changed). */
+    public void resizeRenderCache(int maxEntries) {
+        renderCache.resize(maxEntries);
+    }
+
+    /**
+     * Parses every template against the given palette and logs failures.
+     * Touches no mutable state, so it is safe to call from an async reload.
+     */
+    public void validateTemplates(TemplatePools pools, Map<String, String> palette) {
+        // Validate by attempting to deserialize each template with a dummy resolver.
+        // Palette tokens are preprocessed; placeholders use TagResolver.
+        TagResolver dummy = PlaceholderResolvers.dummy();
+
+        validatePools("messages.", pools, palette, dummy);
+        for (Map.Entry<String, TemplatePools> e : pools.localeVariants().entrySet()) {
+            validatePools("messages." + e.getKey() + ".", e.getValue(), palette, dummy);
+        }
+    }
+
+    private void validatePools(String prefix, TemplatePools pools, Map<String, String> palette, TagResolver dummy) {
+        validatePool(prefix + "start_templates", pools.start, palette, dummy);
+        validatePool(prefix + "hold_templates", pools.hold, palette, dummy);
+        validatePool(prefix + "all_ok_templates", pools.allOk, palette, dummy);
+        validatePool(prefix + "final_templates", pools.fin, palette, dummy);
+        validatePool(prefix + "canceled_templates", pools.canceled, palette, dummy);
+        validatePool(prefix + "status_templates", pools.status, palette, dummy);
+        validatePool(prefix + "callout_templates", pools.callout, palette, dummy);
+        validatePool(prefix + "bossbar_title", List.of(pools.bossBarTitle), palette, dummy);
+        validatePool(prefix + "bossbar_paused_title", List.of(pools.bossBarPausedTitle), palette, dummy);
+        validatePool(prefix + "vote_throttled", List.of(pools.voteThrottled), palette, dummy);
+        validatePool(prefix + "vote_unchanged", List.of(pools.voteUnchanged), palette, dummy);
+    }
+
+    private void validatePool(String key, List<String> pool, Map<String, String> palette, TagResolver dummy) {
+        if (pool == null || pool.isEmpty()) return;
+
+        for (int i = 0; i < pool.size(); i++) {
+            String raw = pool.get(i);
+            if (raw == null || raw.isBlank()) continue;
+
+            String pre = preprocessPaletteTokens(raw, palette);
+            try {
+                // Parse line-by-line and join, matching the actual broadcast behavior.
+                Component comp = parseBlock(pre, dummy);
+                if (comp == null) throw new IllegalStateException("Parsed component is null");
+            } catch (Exception ex) {
+                log.warning("Template parse failed: " + key + "[" + i + "]. "
+                        + "Fix the MiniMessage tags. Error: " + ex.getClass().getSimpleName() + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Broadcasts a random template from {@code pick} (e.g. {@code p -> p.start}) to the players
+     * in {@code recipients}, rendered once per distinct locale variant among them; the console
+     * gets the default variant.
+     */
+    public void broadcastRandom(TemplatePools pools, Function<TemplatePools, List<String>> pick,
+                                Recipients recipients, Placeholders values) {
+        long broadcastStart = trace != null ? trace.now() : 0L;
+
+        Map<TemplatePools, List<Audience>> targets = new IdentityHashMap<>();
+        targets.computeIfAbsent(pools, k -> new ArrayList<>()).add(platform.server().console());
+        for (Map.Entry<Locale, Collection<Voter>> e : audiences.groups(recipients, platform.players().online()).entrySet()) {
+            targets.computeIfAbsent(pools.forLocale(e.getKey()), k -> new ArrayList<>())
+                    .add(Audience.audience(e.getValue()));
+        }
+
+        for (Map.Entry<TemplatePools, List<Audience>> e : targets.entrySet()) {
+            List<String> pool = pick.apply(e.getKey());
+            if (pool == null || pool.isEmpty()) continue;
+
+            String chosen = pool.get(ThreadLocalRandom.current().nextInt(pool.size()));
+            long renderStart = trace != null ? trace.now() : 0L;
+            Component block = render(e.getKey(), chosen, values);
+            if (trace != null) trace.span("render", renderStart, e.getValue().size());
+            if (block == null) continue;
+
+            Audience.audience(e.getValue()).sendMessage(block);
+        }
+        if (trace != null) trace.span("broadcast", broadcastStart, targets.size());
+    }
+
+    public void sendToSender(Audience sender, TemplatePools pools, String template, Placeholders values) {
+        Component block = render(pools, template, values);
+        if (block == null) return;
+
+        sender.sendMessage(block);
+    }
+
+    public String renderCacheStatsDisplay() {
+        return renderCache.statsDisplay();
+    }
+
+    /**
+     * Renders (or returns the cached render of) a template taken from {@code pools}, whose
+     * button labels it uses; null if it is blank.
+     */
+    public Component render(TemplatePools pools, String template, Placeholders values) {
+        if (template == null || template.isBlank()) return null;
+
+        RenderCache.Key key = new RenderCache.Key(pools, template, values);
+        Component cached = renderCache.get(key);
+        if (cached != null) return cached;
+
+        String pre = preprocessPaletteTokens(template, paletteTags);
+        Component block = parseBlock(pre, TagResolver.resolver(values.toResolver(), buttonsFor(pools)));
+        renderCache.put(key, block);
+        return block;
+    }
+
+    /**
+     * Renders a fixed template (palette only: no placeholders, no buttons, not cached).
+     * Safe from any thread; used for feedback sent straight from the chat thread.
+     */
+    public Component renderDetached(String template) {
+        if (template == null || template.isBlank()) return null;
+        return parseBlock(preprocessPaletteTokens(template, paletteTags), TagResolver.empty());
+    }
+
+    /** {@link #renderDetached(String)} with a {@code <vote>} tag (ok/wait). Safe from any thread. */
+    public Component renderDetached(String template, Vote vote) {
+        if (template == null || template.isBlank()) return null;
+        TagResolver voteTag = TagResolver.resolver("vote",
+                Tag.inserting(Component.text(vote.name().toLowerCase(Locale.ROOT))));
+        return parseBlock(preprocessPaletteTokens(template, paletteTags), voteTag);
+    }
+
+    private Component parseBlock(String preprocessedTemplate, TagResolver resolver) {
+        // Keep “block” atomic: parse each non-empty line and join with newline into one Component.
+        String[] lines = preprocessedTemplate.split("\\r?\\n");
+
+        List<Component> comps = new ArrayList<>(lines.length);
+        for (String line : lines) {
+            if (line == null) continue;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) continue;
+
+            try {
+                comps.add(mini.deserialize(trimmed, resolver));
+            } catch (Exception ex) {
+                // Defensive fallback: emit plain text rather than dropping the whole block.
+                comps.add(Component.text(trimmed));
+            }
+        }
+
+        if (comps.isEmpty()) return null;
+        return Component.join(JoinConfiguration.newlines(), comps);
+    }
+
+    private static String preprocessPaletteTokens(String input, Map<String, String> palette) {
+        // Replace <c.name> tokens with <#RRGGBB>, fallback <gray>.
+        String out = input;
+
+        // Tolerate closing tags by converting them to <reset> to prevent parser errors.
+        // Best practice is not to use closers; templates should explicitly set the next color.
+        Matcher close = PALETTE_CLOSE.matcher(out);
+        if (close.find()) {
+            out = close.replaceAll("<reset>");
+        }
+
+        Matcher open = PALETTE_OPEN.matcher(out);
+        StringBuffer sb = new StringBuffer();
+        while (open.find()) {
+            String name = open.group(1).toLowerCase(Locale.ROOT);
+            String repl = palette.getOrDefault(name, "<gray>");
+            open.appendReplacement(sb, Matcher.quoteReplacement(repl));
+        }
+        open.appendTail(sb);
+
+        return sb.toString();
+    }
+}
@@ -1,4 +1,4 @@
-// src/main/java/cc/scaenacraft/rebootvote/PlaceholderResolvers.java
+// core/src/main/java/cc/scaenacraft/rebootvote/PlaceholderResolvers.java
 package cc.scaenacraft.rebootvote;
 
 import net.kyori.adventure.text.Component;
@@ -12,25 +12,29 @@ public final class PlaceholderResolvers {
     public static TagResolver resolver(
             String player,
             String holders,
+            int holderCount,
             int seconds,
             int onlineNow,
             int onlineAtStart,
+            int idle,
             String lastRebootSeconds,
             String avgRebootSeconds
     ) {
         return TagResolver.resolver(
                 TagResolver.resolver("player", Tag.inserting(Component.text(safe(player)))),
                 TagResolver.resolver("holders", Tag.inserting(Component.text(safe(holders)))),
+                TagResolver.resolver("holder_count", Tag.inserting(Component.text(String.valueOf(holderCount)))),
                 TagResolver.resolver("seconds", Tag.inserting(Component.text(String.valueOf(seconds)))),
                 TagResolver.resolver("online", Tag.inserting(Component.text(String.valueOf(onlineNow)))),
                 TagResolver.resolver("online_start", Tag.inserting(Component.text(String.valueOf(onlineAtStart)))),
+                TagResolver.resolver("idle", Tag.inserting(Component.text(String.valueOf(idle)))),
                 TagResolver.resolver("last_reboot_seconds", Tag.inserting(Component.text(safe(lastRebootSeconds)))),
                 TagResolver.resolver("avg_reboot_seconds", Tag.inserting(Component.text(safe(avgRebootSeconds))))
         );
     }
 
     public static TagResolver dummy() {
-        return resolver("Player", "Alice, Bob", 60, 2, 2, "12.5", "11.9");
+        return resolver("Player", "Alice, Bob", 2, 60, 2, 2, 0, "12.5", "11.9");
     }
 
     private static String safe(String s) {
@@ -0,0 +1,37 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/Placeholders.java
+package cc.scaenacraft.rebootvote;
+
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+/**
+ * Resolved placeholder values for one broadcast.
+ *
+ * Being a value type, it doubles as part of the render-cache key: two broadcasts of the
+ * same template with equal values produce the same Component.
+ */
+public record Placeholders(
+        String player,
+        String holders,
+        int holderCount,
+        int seconds,
+        int onlineNow,
+        int onlineAtStart,
+        int idle,
+        String lastRebootSeconds,
+        String avgRebootSeconds
+) {
+
+    public TagResolver toResolver() {
+        return PlaceholderResolvers.resolver(
+                player,
+                holders,
+                holderCount,
+                seconds,
+                onlineNow,
+                onlineAtStart,
+                idle,
+                lastRebootSeconds,
+                avgRebootSeconds
+        );
+    }
+}
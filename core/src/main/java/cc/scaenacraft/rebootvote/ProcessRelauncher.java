@@ -0,0 +1,208 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/ProcessRelauncher.java
+package cc.scaenacraft.rebootvote;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * RELAUNCH reboot mode: the server starts its own replacement, so no wrapper script (and no
+ * wrapper delay) is needed.
+ *
+ * The current command line and working directory are captured when the reboot runs. A
+ * shutdown hook spawns the same command with inherited console I/O once the old server is
+ * done with its worlds. Plugins are disabled before the worlds are saved, so the end of
+ * onDisable ({@link #pluginDisabled()}) is not enough: the hook then also waits for the
+ * server thread to finish, i.e. to die or to be parked in System.exit/halt. On Paper that
+ * thread is often the one calling exit, so it is still alive (blocked in exit) while the hooks
+ * run; when something else started the exit (a signal, the watchdog), it is still saving.
+ * The spawn time travels to the new process in an environment variable, so its first enable
+ * can record how long the relaunch took.
+ */
+final class ProcessRelauncher {
+
+    static final String ENV_SPAWNED_AT = "REBOOTVOTE_SPAWNED_AT_MS";
+    static final String ENV_WAITED = "REBOOTVOTE_SHUTDOWN_WAIT_MS";
+
+    // Shared by every copy of this class in the JVM (plugin reloads load a new one).
+    private static final String GUARD_PROPERTY = "rebootvote.relaunch.armed";
+    private static final String COUNTED_PROPERTY = "rebootvote.relaunch.counted";
+
+    /** Timings read by the relaunched process. */
+    record Timings(long waitedForShutdownMs, long spawnToJvmStartMs, long spawnToNowMs) {}
+
+    private final Logger log;
+    private final List<String> command;
+    private final Path workingDir;
+    private final Map<String, String> extraEnv;
+    private final CountDownLatch disabled = new CountDownLatch(1);
+
+    private ProcessRelauncher(Logger log, List<String> command, Path workingDir, Map<String, String> extraEnv) {
+        this.log = log;
+        this.command = List.copyOf(command);
+        this.workingDir = workingDir;
+        this.extraEnv = Map.copyOf(extraEnv);
+    }
+
+    /**
+     * The command line this JVM was started with, or null if it cannot be reconstructed.
+     */
+    static ProcessRelauncher capture(Logger log) {
+        List<String> command = new ArrayList<>();
+        ProcessHandle.Info info = ProcessHandle.current().info();
+        Optional<String> exe = info.command();
+        Optional<String[]> args = info.arguments();
+
+        if (exe.isPresent() && args.isPresent()) {
+            command.add(exe.get());
+            command.addAll(Arrays.asList(args.get()));
+        } else {
+            // Some platforms do not report arguments; rebuild them from the runtime MXBean.
+            String main = System.getProperty("sun.java.command");
+            if (main == null || main.isBlank()) return null;
+
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            String[] parts = main.trim().split(" "); // arguments containing spaces cannot be told apart here
+            if (parts[0].endsWith(".jar")) {
+                command.add("-jar");
+            } else {
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+            }
+            command.addAll(Arrays.asList(parts));
+        }
+
+        return new ProcessRelauncher(log, command, Path.of(System.getProperty("user.dir")), Map.of());
+    }
+
+    List<String> command() {
+        return command;
+    }
+
+    /** A copy that also sets {@code key} in the new process's environment. */
+    ProcessRelauncher withEnv(String key, String value) {
+        Map<String, String> env = new HashMap<>(extraEnv);
+        env.put(key, value);
+        return new ProcessRelauncher(log, command, workingDir, env);
+    }
+
+    /**
+     * Registers the shutdown hook. The new process is spawned once {@link #pluginDisabled()}
+     * has been called and {@code serverThread} has finished; if that takes longer than
+     * {@code maxWaitMs} after the hook starts, the relaunch is abandoned. Returns false if a
+     * relaunch is already armed in this JVM.
+     */
+    boolean arm(Thread serverThread, long maxWaitMs) {
+        if (System.getProperties().putIfAbsent(GUARD_PROPERTY, Long.toString(ProcessHandle.current().pid())) != null) {
+            log.warning("Relaunch already armed in this JVM; not arming it twice.");
+            return false;
+        }
+        Runtime.getRuntime().addShutdownHook(new Hook(this, serverThread, maxWaitMs));
+        return true;
+    }
+
+    /**
+     * The plugin is disabled and has nothing left to write. Worlds may still be saving: the
+     * hook goes on to wait for the server thread. Idempotent.
+     */
+    void pluginDisabled() {
+        disabled.countDown();
+    }
+
+    /** Dead, or blocked in System.exit/halt (waiting for the hooks, this one included). */
+    static boolean finished(Thread serverThread) {
+        if (!serverThread.isAlive()) return true;
+        for (StackTraceElement frame : serverThread.getStackTrace()) {
+            String cls = frame.getClassName();
+            if (cls.equals("java.lang.Shutdown")) return true;
+            if (cls.equals("java.lang.Runtime") && (frame.getMethodName().equals("exit") || frame.getMethodName().equals("halt"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Created at arm time so nothing is class-loaded after the plugin is disabled. */
+    private static final class Hook extends Thread {
+
+        private static final long POLL_MS = 20L;
+
+        private final ProcessRelauncher relauncher;
+        private final Thread serverThread;
+        private final long maxWaitMs;
+
+        Hook(ProcessRelauncher relauncher, Thread serverThread, long maxWaitMs) {
+            super("RebootVote-relaunch");
+            this.relauncher = relauncher;
+            this.serverThread = serverThread;
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        @Override
+        public void run() {
+            long waitStart = System.nanoTime();
+            long deadline = waitStart + maxWaitMs * 1_000_000L;
+            boolean released = false;
+            boolean finished = false;
+            try {
+                released = relauncher.disabled.await(maxWaitMs, TimeUnit.MILLISECONDS);
+                while (released && !(finished = finished(serverThread)) && System.nanoTime() < deadline) {
+                    Thread.sleep(POLL_MS);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            long waitedMs = (System.nanoTime() - waitStart) / 1_000_000L;
+
+            if (!released) {
+                relauncher.log.severe("Plugin not disabled after " + waitedMs + " ms; not relaunching (worlds may not be saved).");
+                return;
+            }
+            if (!finished) {
+                relauncher.log.severe("Server thread still running after " + waitedMs + " ms; not relaunching (worlds may still be saving).");
+                return;
+            }
+            relauncher.spawn(waitedMs);
+        }
+    }
+
+    private void spawn(long waitedMs) {
+        ProcessBuilder pb = new ProcessBuilder(command)
+                .directory(workingDir.toFile())
+                .inheritIO();
+        pb.environment().putAll(extraEnv);
+        pb.environment().put(ENV_SPAWNED_AT, Long.toString(System.currentTimeMillis()));
+        pb.environment().put(ENV_WAITED, Long.toString(waitedMs));
+
+        try {
+            Process child = pb.start();
+            log.info("Relaunched server as pid " + child.pid() + " (waited " + waitedMs + " ms for shutdown).");
+        } catch (IOException ex) {
+            log.severe("Relaunch failed: " + ex.getMessage() + " | command: " + String.join(" ", command));
+        }
+    }
+
+    /**
+     * Timings if this JVM was started by a relaunch and they were not read yet (once per JVM,
+     * across plugin reloads); null otherwise.
+     */
+    static Timings takeTimings() {
+        String spawned = System.getenv(ENV_SPAWNED_AT);
+        if (spawned == null) return null;
+        if (System.getProperties().putIfAbsent(COUNTED_PROPERTY, "true") != null) return null;
+
+        try {
+            long spawnedAt = Long.parseLong(spawned);
+            long waited = Long.parseLong(System.getenv().getOrDefault(ENV_WAITED, "0"));
+            long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+            return new Timings(waited, jvmStart - spawnedAt, System.currentTimeMillis() - spawnedAt);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/RebootLatches.java
+package cc.scaenacraft.rebootvote;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Once-per-reboot latches shared by all sessions. The per-session latches only cover one
+ * session; a /rebootvote force during an all-OK reboot delay runs on a second (ephemeral)
+ * session, and both would otherwise commit and reach the action. CASes rather than
+ * main-thread flags so they hold from whichever thread eventually calls them.
+ *
+ * A reboot action need not end the process (COMMAND mode, or a command that fails), so the
+ * next started session {@link #reset}s them.
+ */
+final class RebootLatches {
+
+    private final AtomicBoolean committed = new AtomicBoolean(false);
+    private final AtomicBoolean actionStarted = new AtomicBoolean(false);
+
+    /** True for the first commit only; the commit side effects run once. */
+    boolean commit() {
+        return committed.compareAndSet(false, true);
+    }
+
+    /** True for the first reboot action only. */
+    boolean startAction() {
+        return actionStarted.compareAndSet(false, true);
+    }
+
+    boolean actionStarted() {
+        return actionStarted.get();
+    }
+
+    /** Committed, and the action has not run yet (the all-OK delay). */
+    boolean actionPending() {
+        return committed.get() && !actionStarted.get();
+    }
+
+    /** A new session starts; the previous reboot, if any, is over. Main thread. */
+    void reset() {
+        committed.set(false);
+        actionStarted.set(false);
+    }
+}
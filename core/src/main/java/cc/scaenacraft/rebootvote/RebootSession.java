@@ -0,0 +1,759 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/RebootSession.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionPhase;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.api.VoteChoice;
+import cc.scaenacraft.rebootvote.platform.Clock;
+import cc.scaenacraft.rebootvote.platform.EventBus;
+import cc.scaenacraft.rebootvote.platform.Platform;
+import cc.scaenacraft.rebootvote.platform.PlayerDirectory;
+import cc.scaenacraft.rebootvote.platform.Sender;
+import cc.scaenacraft.rebootvote.platform.TaskScheduler;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public final class RebootSession {
+
+    private final SessionHost host;
+
+    /* Time, scheduling, players and events come through the platform, not Bukkit statics. */
+    private final Clock clock;
+    private final TaskScheduler scheduler;
+    private final PlayerDirectory players;
+    private final EventBus events;
+
+    private final MessageService messages;
+    private final TemplatePools pools;
+    private final RebootVoteSettings.AudienceSettings audiences;
+
+    /** Optional live countdown bar; null when bossbar.enabled is false. */
+    private final BossBarCountdown bossBar;
+
+    /** Optional AFK detection; null when idle.enabled is false. */
+    private final IdleSampler idleSampler;
+
+    private final int totalSeconds;
+    private int remainingSeconds;
+
+    private final int onlineAtStart;
+
+    /** Per-player session state, for everyone online (joins added, quits removed). */
+    private static final class VoterState {
+        Vote vote = Vote.NONE;
+        /** AFK players are left out of the all-OK check. */
+        boolean idle;
+    }
+
+    private final Map<UUID, VoterState> voters = new HashMap<>();
+    private int idleCount = 0; // maintained alongside VoterState.idle
+    private int okCount = 0;   // maintained alongside VoterState.vote
+    private int waitCount = 0;
+    private final Set<UUID> holders = new LinkedHashSet<>();
+
+    private final long holdBroadcastCooldownMs;
+    private final int statusUpdateIntervalSeconds;
+    private final int holdReminderIntervalSeconds;
+
+    private final Map<UUID, Long> lastHoldBroadcastAt = new HashMap<>();
+    private UUID lastHolder = null;
+
+    private TaskScheduler.Task countdownTask;
+    private TaskScheduler.Task holdReminderTask;
+
+    private boolean active = true;
+    private boolean canceled = false;
+    private boolean finalBroadcastSent = false;
+
+    /**
+     * One-way latch so the reboot action can never be “missed”,
+     * even if state flags (like {@link #active}) change before a delayed task runs.
+     * Like all session latches it is main-thread only (see requireMainThread); the
+     * once-per-reboot guard across sessions is in SessionController#executeRebootAction.
+     */
+    private boolean rebootTriggered = false;
+
+    /** Prevents multiple delayed reboot tasks from being queued. */
+    private boolean rebootScheduled = false;
+
+    /**
+     * One-way latch that indicates we've committed to rebooting.
+     * The plugin will start the stopwatch in onDisable() when it sees this commit.
+     */
+    private boolean rebootCommittedNotified = false;
+
+    private final SessionMetrics metrics = new SessionMetrics();
+
+    /** Audit trail; handed to the plugin once, when the session first deactivates. */
+    private final SessionTimeline timeline = new SessionTimeline();
+    private CommitReason commitReason = null;
+    private boolean audited = false;
+
+    /** Chrome trace of this session (the host's recorder). */
+    private final TraceRecorder trace;
+
+    /*
+     * Single-writer model: all fields above are only touched on the main thread. After
+     * each change the session publishes an immutable snapshot here, which any thread
+     * (async chat, console/RCON, integrations) may read lock-free.
+     */
+    private volatile SessionSnapshot snapshot = SessionSnapshot.NONE;
+    private List<String> holderNames = List.of();
+    private boolean holderNamesStale = false;
+
+    RebootSession(
+            SessionHost host,
+            Platform platform,
+            MessageService messages,
+            TemplatePools pools,
+            BossBarCountdown bossBar,
+            IdleSampler idleSampler,
+            int seconds,
+            long holdCooldownSeconds,
+            int statusUpdateIntervalSeconds,
+            int holdReminderIntervalSeconds,
+            RebootVoteSettings.AudienceSettings audiences
+    ) {
+        this.host = host;
+        this.clock = platform.clock();
+        this.scheduler = platform.scheduler();
+        this.players = platform.players();
+        this.events = platform.events();
+        this.messages = messages;
+        this.pools = pools;
+        this.audiences = audiences;
+        this.bossBar = bossBar;
+        this.idleSampler = idleSampler;
+
+        this.totalSeconds = Math.max(1, seconds);
+        this.remainingSeconds = this.totalSeconds;
+
+        this.onlineAtStart = players.onlineCount();
+
+        this.holdBroadcastCooldownMs = Math.max(0, holdCooldownSeconds) * 1000L;
+
+        // 0 turns chat callouts off (e.g. when the boss bar carries the countdown).
+        this.statusUpdateIntervalSeconds = Math.max(0, statusUpdateIntervalSeconds);
+        this.holdReminderIntervalSeconds = Math.max(5, holdReminderIntervalSeconds);
+
+        for (Voter p : players.online()) {
+            UUID id = p.id();
+            voters.put(id, newVoterState(id));
+        }
+        timeline.note("START countdown=" + totalSeconds + "s online=" + onlineAtStart);
+        this.trace = host.trace();
+        if (trace != null) trace.begin("session");
+        publish();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public SessionMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Latest published state. Safe from any thread.
+     */
+    public SessionSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public int remainingSeconds() {
+        return remainingSeconds;
+    }
+
+    public int onlineNow() {
+        return players.onlineCount();
+    }
+
+    public int onlineAtStart() {
+        return onlineAtStart;
+    }
+
+    public String holdersDisplay() {
+        if (holders.isEmpty()) return "none";
+        return holders.stream()
+                .map(this::nameOrUnknown)
+                .collect(Collectors.joining(", "));
+    }
+
+    public int idleCount() {
+        return idleCount;
+    }
+
+    private VoterState newVoterState(UUID id) {
+        VoterState st = new VoterState();
+        setIdle(st, idleSampler != null && idleSampler.isIdle(id));
+        return st;
+    }
+
+    private void setIdle(VoterState st, boolean idle) {
+        if (st.idle == idle) return;
+        st.idle = idle;
+        idleCount += idle ? 1 : -1;
+    }
+
+    private void setVote(VoterState st, Vote vote) {
+        if (st.vote == vote) return;
+        if (st.vote == Vote.OK) okCount--;
+        if (st.vote == Vote.WAIT) waitCount--;
+        if (vote == Vote.OK) okCount++;
+        if (vote == Vote.WAIT) waitCount++;
+        st.vote = vote;
+    }
+
+    private SessionPhase phase() {
+        if (rebootCommittedNotified) return SessionPhase.COMMITTED;
+        if (canceled) return SessionPhase.CANCELED;
+        if (!active) return SessionPhase.ENDED;
+        return holders.isEmpty() ? SessionPhase.COUNTDOWN : SessionPhase.PAUSED;
+    }
+
+    /**
+     * Publishes the current state for lock-free readers. Main thread only.
+     */
+    private void publish() {
+        if (holderNamesStale) {
+            List<String> names = new ArrayList<>(holders.size());
+            for (UUID id : holders) names.add(nameOrUnknown(id));
+            holderNames = List.copyOf(names);
+            holderNamesStale = false;
+        }
+
+        snapshot = new SessionSnapshot(
+                phase(),
+                totalSeconds,
+                remainingSeconds,
+                onlineAtStart,
+                voters.size(),
+                okCount,
+                waitCount,
+                idleCount,
+                holderNames,
+                rebootCommittedNotified,
+                rebootScheduled,
+                rebootTriggered,
+                clock.millis()
+        );
+    }
+
+    private String lastHolderName() {
+        if (lastHolder == null) return "none";
+        return nameOrUnknown(lastHolder);
+    }
+
+    private String nameOrUnknown(UUID id) {
+        String name = players.nameOf(id);
+        return name != null ? name : "unknown";
+    }
+
+    private void requireMainThread() {
+        if (!scheduler.isOwnerThread()) {
+            throw new IllegalStateException("RebootSession method must be called on the main thread.");
+        }
+    }
+
+    public void start() {
+        requireMainThread();
+
+        broadcastStart();
+
+        if (events.hasListeners(EventBus.Kind.START)) {
+            events.started(snapshot);
+        }
+
+        if (bossBar != null) {
+            bossBar.show();
+            updateBossBar();
+        }
+
+        metrics.noteTaskScheduled();
+        countdownTask = scheduler.repeat(() -> {
+            metrics.begin();
+            long t = trace != null ? trace.now() : 0L;
+            try {
+                tick();
+                publish();
+            } finally {
+                metrics.end(SessionMetrics.Op.TICK);
+                if (trace != null) trace.span("tick", t, remainingSeconds);
+            }
+        }, 20L, 20L);
+    }
+
+    private void tick() {
+        if (!active) return;
+
+        updateBossBar();
+
+        if (!holders.isEmpty()) return; // paused
+
+        // Stage-manager style callouts (only when not paused).
+        maybeBroadcastCallout();
+
+        if (!finalBroadcastSent && remainingSeconds == 5) {
+            broadcastFinal(5);
+            finalBroadcastSent = true;
+        }
+
+        remainingSeconds--;
+        if (remainingSeconds <= 0) {
+            commitRebootIfNeeded(CommitReason.COUNTDOWN);
+            rebootNow();
+        }
+    }
+
+    public void cancel(Sender by) {
+        requireMainThread();
+        if (!active) return;
+
+        canceled = true;
+        timeline.note("CANCEL by " + by.name());
+        // Broadcast while the audiences are still tracked: HOLDERS and NON_VOTERS resolve
+        // against session state that deactivate() hands back to the plugin.
+        broadcastCanceled();
+        deactivate();
+
+        if (events.hasListeners(EventBus.Kind.CANCEL)) {
+            events.canceled(snapshot, by);
+        }
+    }
+
+    public void endSilently() {
+        requireMainThread();
+        deactivate();
+    }
+
+    public void forceReboot(Sender by) {
+        requireMainThread();
+        if (!active) {
+            // Allow “ephemeral session” usage.
+            active = true;
+        }
+
+        commitRebootIfNeeded(CommitReason.FORCED);
+        broadcastFinal(0);
+        rebootNow();
+    }
+
+    public void status(Sender sender) {
+        requireMainThread();
+
+        if (!active) {
+            sender.sendMessage(Component.text("RebootVote: no session running."));
+            return;
+        }
+
+        var values = placeholders(lastHolderName(), remainingSeconds);
+
+        TemplatePools local = sender.locale() != null ? pools.forLocale(sender.locale()) : pools;
+        if (local.status != null && !local.status.isEmpty()) {
+            String chosen = local.status.get(new Random().nextInt(local.status.size()));
+            messages.sendToSender(sender, local, chosen, values);
+            return;
+        }
+
+        sender.sendMessage(Component.text("RebootVote status:"));
+        sender.sendMessage(Component.text(" - Remaining: " + remainingSeconds + "s (total " + totalSeconds + "s)"));
+        sender.sendMessage(Component.text(" - Online now: " + onlineNow() + " | Online at start: " + onlineAtStart));
+        sender.sendMessage(Component.text(" - Holding: " + holdersDisplay()));
+        sender.sendMessage(Component.text(" - Idle (not counted for all-OK): " + idleCount()));
+    }
+
+    public void onPlayerJoin(Voter p) {
+        requireMainThread();
+        if (!active) return;
+
+        voters.computeIfAbsent(p.id(), this::newVoterState);
+        if (bossBar != null) bossBar.showTo(p, p.locale());
+        checkEarlyReboot();
+        publish();
+    }
+
+    /** Moves the player to the boss bar of their new locale; chat groups are tracked by MessageService. */
+    public void onLocaleChanged(Voter p, Locale locale) {
+        requireMainThread();
+        if (!active) return;
+
+        if (bossBar != null) bossBar.showTo(p, locale);
+    }
+
+    public void onPlayerQuit(Voter p) {
+        requireMainThread();
+        if (!active) return;
+
+        if (bossBar != null) bossBar.forget(p);
+
+        UUID id = p.id();
+        VoterState gone = voters.remove(id);
+        if (gone != null) {
+            setIdle(gone, false);
+            setVote(gone, Vote.NONE);
+        }
+
+        boolean removed = holders.remove(id);
+        if (removed) {
+            holderNamesStale = true;
+            if (Objects.equals(lastHolder, id)) {
+                lastHolder = holders.isEmpty() ? null : holders.iterator().next();
+            }
+            if (holders.isEmpty()) {
+                stopHoldReminder();
+                firePause();
+            }
+            updateBossBar();
+        }
+
+        lastHoldBroadcastAt.remove(id);
+        checkEarlyReboot();
+        publish();
+    }
+
+    public void onVote(Voter p, Vote newVote) {
+        requireMainThread();
+        if (!active) return;
+
+        UUID id = p.id();
+        VoterState st = voters.computeIfAbsent(id, this::newVoterState);
+        Vote previous = st.vote;
+        setVote(st, newVote);
+        setIdle(st, false); // voting is activity
+        timeline.vote(p.name(), newVote);
+        messages.noteVote(p, newVote);
+        if (trace != null) trace.instant(newVote == Vote.WAIT ? "vote WAIT" : "vote OK", voters.size());
+
+        boolean wasHolder = false;
+        boolean pauseChanged = false;
+        if (newVote == Vote.WAIT) {
+            if (holders.add(id)) {
+                holderNamesStale = true;
+                pauseChanged = holders.size() == 1;
+            }
+            lastHolder = id;
+        } else if (newVote == Vote.OK) {
+            wasHolder = holders.remove(id);
+            if (wasHolder) {
+                holderNamesStale = true;
+                if (Objects.equals(lastHolder, id)) {
+                    lastHolder = holders.isEmpty() ? null : holders.iterator().next();
+                }
+                pauseChanged = holders.isEmpty();
+            }
+        }
+
+        fireVote(p, previous, newVote);
+        if (pauseChanged) firePause();
+
+        if (newVote == Vote.WAIT) {
+            maybeBroadcastHold(p.name());
+            startHoldReminderIfNeeded();
+            updateBossBar();
+            publish();
+            return;
+        }
+
+        if (wasHolder) {
+            if (holders.isEmpty()) stopHoldReminder();
+            updateBossBar();
+        }
+
+        checkEarlyReboot();
+        publish();
+    }
+
+    /**
+     * Idle transition from the sampler. A player going AFK may be the last thing
+     * standing between the others and an all-OK reboot.
+     */
+    public void onIdleChanged(UUID id, boolean idle) {
+        requireMainThread();
+        if (!active) return;
+
+        VoterState st = voters.get(id);
+        if (st == null || st.idle == idle) return;
+        setIdle(st, idle);
+
+        if (idle) checkEarlyReboot();
+        publish();
+    }
+
+    private void maybeBroadcastCallout() {
+        // Called once per second while counting down and not paused.
+        // Fire when remainingSeconds is a multiple of the configured interval,
+        // but never at 0s or 5s (final countdown handles 5s).
+        if (!active) return;
+        if (remainingSeconds <= 0) return;
+        if (remainingSeconds == 5) return;
+
+        // Avoid doubling up with the "start" announcement.
+        if (remainingSeconds == totalSeconds) return;
+
+        if (statusUpdateIntervalSeconds <= 0) return;
+        if (remainingSeconds % statusUpdateIntervalSeconds != 0) return;
+
+        broadcastCallout();
+    }
+
+    private void broadcastCallout() {
+        var values = placeholders(lastHolderName(), remainingSeconds);
+
+        messages.broadcastRandom(pools, p -> p.callout, audiences.callout(), values);
+    }
+
+    private void maybeBroadcastHold(String mostRecentHolderName) {
+        long now = clock.millis();
+        UUID id = lastHolder;
+        if (id == null) return;
+
+        Long last = lastHoldBroadcastAt.get(id);
+        if (last != null && holdBroadcastCooldownMs > 0 && (now - last) < holdBroadcastCooldownMs) {
+            return;
+        }
+        lastHoldBroadcastAt.put(id, now);
+        broadcastHold(mostRecentHolderName, audiences.hold());
+    }
+
+    private void checkEarlyReboot() {
+        if (!active) return;
+        if (!holders.isEmpty()) return;
+        if (players.onlineCount() == 0) return;
+
+        // Every non-idle player must have voted OK, and at least one must be present
+        // (a server full of AFK players does not reboot itself early).
+        boolean allOk = true;
+        boolean anyActive = false;
+        for (Voter p : players.online()) {
+            VoterState st = voters.get(p.id());
+            if (st != null && st.idle) continue;
+
+            anyActive = true;
+            if (st == null || st.vote != Vote.OK) {
+                allOk = false;
+                break;
+            }
+        }
+        allOk &= anyActive;
+
+        if (allOk) {
+            commitRebootIfNeeded(CommitReason.ALL_OK);
+            broadcastAllOk(); // before deactivate(), while the audiences still resolve
+
+            // Freeze session state right after so the countdown can't keep running
+            // and we don't spam ALL CLEAR due to joins/quits/votes.
+            deactivate();
+            scheduleReboot();
+        }
+    }
+
+    /**
+     * Marks that the reboot is committed (countdown hit 0 OR everyone voted OK).
+     * The plugin will start the stopwatch in onDisable() when it sees this commit,
+     * so the measured duration aligns with real downtime (shutdown start -> enable).
+     */
+    private void commitRebootIfNeeded(CommitReason reason) {
+        if (rebootCommittedNotified) return;
+        rebootCommittedNotified = true;
+        commitReason = reason;
+        timeline.note("COMMIT " + reason.name());
+        if (trace != null) trace.instant("commit " + reason.name(), remainingSeconds);
+        publish();
+
+        // A force during another session's all-OK delay: that commit already went out.
+        if (!host.noteRebootCommitted(reason, snapshot)) return;
+
+        if (events.hasListeners(EventBus.Kind.COMMIT)) {
+            events.committed(snapshot, reason);
+        }
+    }
+
+    /*
+     * Lifecycle events are only built (and the snapshot refreshed for them) when something
+     * listens, so with no listeners the vote path pays one listener check.
+     */
+
+    private void fireVote(Voter p, Vote previous, Vote vote) {
+        if (!events.hasListeners(EventBus.Kind.VOTE)) return;
+        publish();
+        events.voted(snapshot, p, choice(previous), choice(vote));
+    }
+
+    /** The API's copy of a vote, so {@link Vote} can change without breaking integrations. */
+    private static VoteChoice choice(Vote vote) {
+        return switch (vote) {
+            case NONE -> VoteChoice.NONE;
+            case OK -> VoteChoice.OK;
+            case WAIT -> VoteChoice.WAIT;
+        };
+    }
+
+    private void firePause() {
+        timeline.paused(!holders.isEmpty());
+        if (trace != null) {
+            if (holders.isEmpty()) trace.end("paused");
+            else trace.begin("paused");
+        }
+        if (!events.hasListeners(EventBus.Kind.PAUSE)) return;
+        publish();
+        events.paused(snapshot, !holders.isEmpty());
+    }
+
+    private void broadcastStart() {
+        var values = placeholders(lastHolderName(), remainingSeconds);
+        messages.broadcastRandom(pools, p -> p.start, audiences.start(), values);
+    }
+
+    private void broadcastHold(String mostRecentHolderName, Recipients recipients) {
+        var values = placeholders(mostRecentHolderName, remainingSeconds);
+        messages.broadcastRandom(pools, p -> p.hold, recipients, values);
+    }
+
+    private void broadcastAllOk() {
+        var values = placeholders(lastHolderName(), remainingSeconds);
+        messages.broadcastRandom(pools, p -> p.allOk, audiences.allOk(), values);
+    }
+
+    private void broadcastFinal(int seconds) {
+        var values = placeholders(lastHolderName(), seconds);
+        messages.broadcastRandom(pools, p -> p.fin, audiences.fin(), values);
+    }
+
+    private void broadcastCanceled() {
+        var values = placeholders(lastHolderName(), remainingSeconds);
+        messages.broadcastRandom(pools, p -> p.canceled, audiences.canceled(), values);
+    }
+
+    private Placeholders placeholders(String player, int seconds) {
+        return new Placeholders(
+                player,
+                holdersDisplay(),
+                holders.size(),
+                seconds,
+                onlineNow(),
+                onlineAtStart,
+                idleCount(),
+                lastRebootSeconds(),
+                avgRebootSeconds()
+        );
+    }
+
+    private void updateBossBar() {
+        if (bossBar == null || !active) return;
+
+        var values = placeholders(lastHolderName(), remainingSeconds);
+        bossBar.update(remainingSeconds, totalSeconds, !holders.isEmpty(), values);
+    }
+
+    private void startHoldReminderIfNeeded() {
+        if (holdReminderTask != null) return;
+
+        metrics.noteTaskScheduled();
+        holdReminderTask = scheduler.repeat(() -> {
+            if (!active) return;
+            if (holders.isEmpty()) {
+                stopHoldReminder();
+                return;
+            }
+            metrics.begin();
+            try {
+                broadcastHold(lastHolderName(), audiences.holdReminder());
+            } finally {
+                metrics.end(SessionMetrics.Op.REMINDER);
+            }
+        }, 20L * holdReminderIntervalSeconds, 20L * holdReminderIntervalSeconds);
+    }
+
+    private void stopHoldReminder() {
+        if (holdReminderTask != null) {
+            holdReminderTask.cancel();
+            holdReminderTask = null;
+        }
+    }
+
+    private void scheduleReboot() {
+        // Preserve existing behavior: schedule on main thread shortly after broadcast.
+        if (rebootScheduled) {
+            metrics.noteLatchRejected();
+            return;
+        }
+        rebootScheduled = true;
+        publish();
+        metrics.noteTaskScheduled();
+        scheduler.later(this::rebootNow, 20L);
+    }
+
+    private void rebootNow() {
+        // "Missed reboot" fix: do not depend on `active` for the actual reboot action.
+        // We use a one-way latch so delayed tasks (like early-reboot) can't be invalidated
+        // by state changes.
+        if (rebootTriggered) {
+            metrics.noteLatchRejected();
+            return;
+        }
+        rebootTriggered = true;
+
+        deactivate();
+        host.executeRebootAction();
+    }
+
+    private String lastRebootSeconds() {
+        return host.getLastRebootSecondsDisplay();
+    }
+
+    private String avgRebootSeconds() {
+        return host.getAvgRebootSecondsDisplay();
+    }
+
+    /**
+     * Ends the live phase of the session (no more ticks, reminders or bar) and lets the
+     * plugin drop its session-scoped listeners.
+     */
+    private void deactivate() {
+        active = false;
+        cancelTasks();
+        publish();
+
+        if (!audited) {
+            audited = true;
+            String outcome = commitReason != null ? commitReason.name() : canceled ? "CANCELED" : "ENDED";
+            host.auditSession(timeline.finish(outcome, totalSeconds, remainingSeconds, onlineAtStart));
+
+            if (trace != null) {
+                if (!holders.isEmpty()) trace.end("paused");
+                trace.end("session");
+            }
+            // A committed session stays in the buffer and is written with the reboot trace.
+            if (commitReason == null) host.exportSessionTrace();
+        }
+        host.onSessionEnded(this);
+    }
+
+    private void cancelTasks() {
+        if (holdReminderTask != null) {
+            holdReminderTask.cancel();
+            holdReminderTask = null;
+        }
+        if (countdownTask != null) {
+            countdownTask.cancel();
+            countdownTask = null;
+        }
+        if (bossBar != null) {
+            bossBar.hide();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/RebootStatsStore.java
+package cc.scaenacraft.rebootvote;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Persists reboot timing stats across restarts.
+ *
+ * Timing model (current project scope):
+ * - The reboot "commit" happens when the countdown reaches 0 OR all players vote OK.
+ * - The reboot-duration stopwatch STARTS at shutdown start (plugin onDisable),
+ *   and ends at next boot when the plugin enables again.
+ *
+ * This approximates the real downtime a player experiences.
+ *
+ * Unplanned downtime (crash, OOM kill, power loss of the JVM) is kept apart: it runs from
+ * the last heartbeat of the previous run to the next enable.
+ */
+public final class RebootStatsStore {
+
+    private static final String FILE_NAME = "reboot-stats.yml";
+
+    // If a pending timestamp is older than this, assume it is stale/corrupt and ignore it.
+    private static final long MAX_REASONABLE_REBOOT_MS = 10L * 60L * 1000L; // 10 minutes
+
+    // Same idea for crashes; longer, since someone may have to notice and start the server by hand.
+    private static final long MAX_REASONABLE_CRASH_MS = 30L * 60L * 1000L; // 30 minutes
+
+    // Most recent reboot durations kept for the metrics endpoint (oldest first).
+    private static final int MAX_HISTORY = 50;
+
+    private final File dataFolder;
+    private final Logger log;
+    private final File file;
+
+    // Written on the main thread, read by the API from any thread.
+    private volatile long lastDurationMs = -1L;
+    private volatile double avgDurationMs = -1.0;
+    private volatile long samples = 0L;
+    private volatile List<Long> historyMs = List.of(); // immutable, replaced on change
+
+    private volatile long lastCrashDowntimeMs = -1L;
+    private volatile double avgCrashDowntimeMs = -1.0;
+    private volatile long crashSamples = 0L;
+
+    /** "spawn -> JVM start / -> plugin enable" of the last RELAUNCH; null if none was measured. */
+    private volatile String lastRelaunchDisplay = null;
+
+    /** The file is touched by the async startup load and by main-thread writers. Guarded by {@code this}. */
+    private boolean loaded = false;
+
+    /** Chunks players occupied when the last reboot was committed ("world,x,z,players"); consumed once. */
+    private List<String> warmupChunks = List.of();
+
+    /** When the reboot that led to this boot began (shutdown start), or -1 if it was not measured. */
+    private volatile long measuredRebootStartedMs = -1L;
+
+    /** What held up the previous shutdown, per the watchdog; null if it stopped in time. */
+    private volatile String previousShutdownStall = null;
+
+    /** When the plugin enabled; the end point of a pending downtime measurement. */
+    private final long enabledAtMs;
+
+    public RebootStatsStore(File dataFolder, Logger log) {
+        this(dataFolder, log, System.currentTimeMillis());
+    }
+
+    public RebootStatsStore(File dataFolder, Logger log, long enabledAtMs) {
+        this.dataFolder = dataFolder;
+        this.log = log;
+        this.file = new File(dataFolder, FILE_NAME);
+        this.enabledAtMs = enabledAtMs;
+    }
+
+    /**
+     * Loads the stats and, if present, finalizes a pending reboot measurement against the
+     * enable timestamp (not against when this happens to run, so deferring it is free).
+     * Runs at most once; safe to call off the main thread.
+     */
+    public synchronized void loadAndFinalizePendingIfPresent() {
+        if (loaded) return;
+        loaded = true;
+
+        Config yml = read();
+
+        this.lastDurationMs = yml.getLong("last_reboot_duration_ms", -1L);
+        this.avgDurationMs = yml.getDouble("avg_reboot_duration_ms", -1.0);
+        this.samples = yml.getLong("samples", 0L);
+        this.historyMs = List.copyOf(yml.getLongList("history_ms"));
+        this.lastCrashDowntimeMs = yml.getLong("crash.last_downtime_ms", -1L);
+        this.avgCrashDowntimeMs = yml.getDouble("crash.avg_downtime_ms", -1.0);
+        this.crashSamples = yml.getLong("crash.samples", 0L);
+        if (yml.contains("relaunch.spawn_to_enable_ms")) {
+            this.lastRelaunchDisplay = relaunchDisplay(yml.getLong("relaunch.spawn_to_jvm_ms", 0L),
+                    yml.getLong("relaunch.spawn_to_enable_ms", 0L), yml.getLong("relaunch.waited_for_shutdown_ms", 0L));
+        }
+
+        // Positions are only useful on the boot right after they were saved.
+        this.warmupChunks = List.copyOf(yml.getStringList("warmup_chunks"));
+        boolean dirty = !warmupChunks.isEmpty();
+        yml.set("warmup_chunks", null);
+
+        // Likewise the watchdog's note describes the shutdown right before this boot only.
+        this.previousShutdownStall = yml.getString("shutdown_stall");
+        if (previousShutdownStall != null) {
+            yml.set("shutdown_stall", null);
+            dirty = true;
+        }
+
+        long pendingStarted = yml.getLong("pending_reboot_started_ms", -1L);
+        if (pendingStarted > 0) {
+            long elapsed = enabledAtMs - pendingStarted;
+
+            // Sanity check. If it looks unreasonable, treat it as stale.
+            if (elapsed > 0 && elapsed <= MAX_REASONABLE_REBOOT_MS) {
+                this.lastDurationMs = elapsed;
+                this.measuredRebootStartedMs = pendingStarted;
+
+                double total = (this.avgDurationMs < 0 ? 0.0 : this.avgDurationMs * this.samples);
+                this.samples = Math.max(0L, this.samples) + 1L;
+                this.avgDurationMs = (total + elapsed) / this.samples;
+
+                List<Long> history = new ArrayList<>(this.historyMs);
+                history.add(elapsed);
+                if (history.size() > MAX_HISTORY) history.subList(0, history.size() - MAX_HISTORY).clear();
+                this.historyMs = List.copyOf(history);
+            }
+
+            // Always clear pending marker so it can't poison future boots.
+            yml.set("pending_reboot_started_ms", null);
+            yml.set("last_reboot_duration_ms", this.lastDurationMs);
+            yml.set("avg_reboot_duration_ms", this.avgDurationMs);
+            yml.set("samples", this.samples);
+            yml.set("history_ms", this.historyMs);
+            dirty = true;
+        }
+
+        if (dirty) save(yml);
+    }
+
+    /**
+     * Counts an unplanned stop that the previous run's heartbeat revealed: downtime runs from
+     * its last beat ({@code lastBeatMs}) to this enable. Returns the downtime in ms, or -1 if
+     * it was not counted. Safe off the main thread.
+     */
+    public synchronized long recordCrashDowntime(long lastBeatMs) {
+        loadAndFinalizePendingIfPresent();
+
+        long elapsed = enabledAtMs - lastBeatMs;
+        if (elapsed <= 0 || elapsed > MAX_REASONABLE_CRASH_MS) return -1L;
+
+        this.lastCrashDowntimeMs = elapsed;
+        double total = (this.avgCrashDowntimeMs < 0 ? 0.0 : this.avgCrashDowntimeMs * this.crashSamples);
+        this.crashSamples = Math.max(0L, this.crashSamples) + 1L;
+        this.avgCrashDowntimeMs = (total + elapsed) / this.crashSamples;
+
+        Config yml = read();
+        yml.set("crash.last_downtime_ms", lastCrashDowntimeMs);
+        yml.set("crash.avg_downtime_ms", avgCrashDowntimeMs);
+        yml.set("crash.samples", crashSamples);
+        yml.set("crash.last_at_ms", lastBeatMs);
+        save(yml);
+        return elapsed;
+    }
+
+    /**
+     * Timings of a RELAUNCH that started this JVM: how long the old process waited for its
+     * world save, and how long the new one took to start and reach this enable.
+     */
+    public synchronized void recordRelaunch(long waitedForShutdownMs, long spawnToJvmMs, long spawnToEnableMs) {
+        loadAndFinalizePendingIfPresent();
+        this.lastRelaunchDisplay = relaunchDisplay(spawnToJvmMs, spawnToEnableMs, waitedForShutdownMs);
+
+        Config yml = read();
+        yml.set("relaunch.waited_for_shutdown_ms", waitedForShutdownMs);
+        yml.set("relaunch.spawn_to_jvm_ms", spawnToJvmMs);
+        yml.set("relaunch.spawn_to_enable_ms", spawnToEnableMs);
+        save(yml);
+    }
+
+    public String lastRelaunchDisplay() {
+        return lastRelaunchDisplay;
+    }
+
+    private static String relaunchDisplay(long spawnToJvmMs, long spawnToEnableMs, long waitedMs) {
+        return String.format(Locale.ROOT, "spawn -> JVM start %d ms, -> plugin enable %.1fs (old process waited %.1fs for its world save)",
+                spawnToJvmMs, spawnToEnableMs / 1000.0, waitedMs / 1000.0);
+    }
+
+    /**
+     * Records where players were at commit time for the next boot's chunk warm-up.
+     * Entries are "world,chunkX,chunkZ,players".
+     */
+    public synchronized void saveWarmupChunks(List<String> chunks) {
+        loadAndFinalizePendingIfPresent();
+
+        Config yml = read();
+        yml.set("warmup_chunks", chunks.isEmpty() ? null : chunks);
+        save(yml);
+    }
+
+    /**
+     * Watchdog note about a slow shutdown, read on the next boot. Called from the watchdog thread.
+     */
+    public synchronized void recordShutdownStall(String description) {
+        Config yml = read();
+        yml.set("shutdown_stall", description);
+        save(yml);
+    }
+
+    /** Null if the previous shutdown finished before the watchdog's first checkpoint. */
+    public String previousShutdownStall() {
+        return previousShutdownStall;
+    }
+
+    public long measuredRebootStartedMs() {
+        return measuredRebootStartedMs;
+    }
+
+    /** Warm-up chunks saved by the previous boot (empty after the first call). */
+    public synchronized List<String> takeWarmupChunks() {
+        List<String> out = warmupChunks;
+        warmupChunks = List.of();
+        return out;
+    }
+
+    /**
+     * Start (persist) the reboot-duration stopwatch at a specific timestamp.
+     * Intended call site: plugin onDisable(), right as shutdown begins.
+     */
+    public synchronized void markRebootInitiatedAt(long startedAtMs) {
+        loadAndFinalizePendingIfPresent(); // stopped before the startup load ran: settle the old marker first
+
+        Config yml = read();
+        yml.set("pending_reboot_started_ms", startedAtMs);
+
+        // Preserve existing stats.
+        if (lastDurationMs >= 0) yml.set("last_reboot_duration_ms", lastDurationMs);
+        if (avgDurationMs >= 0) yml.set("avg_reboot_duration_ms", avgDurationMs);
+        yml.set("samples", samples);
+
+        save(yml);
+    }
+
+    /**
+     * Clears reboot timing history and any pending measurement.
+     */
+    public synchronized void resetTimingStats() {
+        loaded = true; // a pending startup load must not resurrect what was just cleared
+        this.lastDurationMs = -1L;
+        this.avgDurationMs = -1.0;
+        this.samples = 0L;
+        this.historyMs = List.of();
+        this.lastCrashDowntimeMs = -1L;
+        this.avgCrashDowntimeMs = -1.0;
+        this.crashSamples = 0L;
+
+        Config yml = Config.empty();
+        yml.set("pending_reboot_started_ms", null);
+        yml.set("last_reboot_duration_ms", null);
+        yml.set("avg_reboot_duration_ms", null);
+        yml.set("samples", 0L);
+        save(yml);
+    }
+
+    public long samples() {
+        return samples;
+    }
+
+    public long lastDurationMs() {
+        return lastDurationMs;
+    }
+
+    public double avgDurationMs() {
+        return avgDurationMs;
+    }
+
+    public long crashSamples() {
+        return crashSamples;
+    }
+
+    public long lastCrashDowntimeMs() {
+        return lastCrashDowntimeMs;
+    }
+
+    public String crashDisplay() {
+        if (crashSamples <= 0) return "none recorded";
+        return "last " + formatSeconds(lastCrashDowntimeMs) + "s | average "
+                + String.format(Locale.ROOT, "%.1f", avgCrashDowntimeMs / 1000.0) + "s (" + crashSamples + " crashes)";
+    }
+
+    /** Recent reboot durations in ms, oldest first. Immutable; safe from any thread. */
+    public List<Long> durationHistoryMs() {
+        return historyMs;
+    }
+
+    public String lastSecondsDisplay() {
+        if (lastDurationMs <= 0) return "unknown";
+        return formatSeconds(lastDurationMs);
+    }
+
+    public String avgSecondsDisplay() {
+        if (avgDurationMs <= 0) return "unknown";
+        return String.format(Locale.ROOT, "%.1f", avgDurationMs / 1000.0);
+    }
+
+    private String formatSeconds(long ms) {
+        return String.format(Locale.ROOT, "%.1f", ms / 1000.0);
+    }
+
+    /** Like a missing file if it cannot be read; the next save replaces it. */
+    private Config read() {
+        try {
+            return Config.load(file);
+        } catch (IOException ex) {
+            log.warning("Failed to read reboot stats: " + ex.getMessage());
+            return Config.empty();
+        }
+    }
+
+    private void save(Config yml) {
+        try {
+            if (!dataFolder.exists()) {
+                //noinspection ResultOfMethodCallIgnored
+                dataFolder.mkdirs();
+            }
+            yml.save(file);
+        } catch (IOException ex) {
+            log.warning("Failed to save reboot stats: " + ex.getMessage());
+        }
+    }
+}
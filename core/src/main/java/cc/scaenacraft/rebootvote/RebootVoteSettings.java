@@ -0,0 +1,311 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/RebootVoteSettings.java
+package cc.scaenacraft.rebootvote;
+
+import net.kyori.adventure.bossbar.BossBar;
+
+import java.util.*;
+
+/**
+ * Immutable, typed snapshot of config.yml.
+ *
+ * Built off the main thread by {@link SettingsManager} and swapped in as a whole, so
+ * readers never see a half-reloaded config. Expensive parts (template pools, keywords,
+ * palette) are carried over from the previous snapshot when their section content is unchanged.
+ */
+public final class RebootVoteSettings {
+
+    static final String SECTION_PALETTE = "palette";
+    static final String SECTION_MESSAGES = "messages";
+    static final String SECTION_KEYWORDS = "vote_keywords";
+
+    private static final List<String> TRACKED_SECTIONS = List.of(SECTION_PALETTE, SECTION_MESSAGES, SECTION_KEYWORDS);
+
+    public final int defaultRebootSeconds;
+    public final int statusUpdateIntervalSeconds;
+    public final int holdReminderIntervalSeconds;
+    public final long holdBroadcastCooldownSeconds;
+
+    /** Per-player vote token bucket (see {@link VoteGate}). */
+    public final double voteRatePerSecond;
+    public final int voteBurst;
+
+    public final String rebootMode;
+    public final String rebootCommand;
+    public final TransferSettings transfer;
+    public final WatchdogSettings watchdog;
+
+    /** RELAUNCH: how long the relaunch hook waits for RebootVote's onDisable to finish before giving up. */
+    public final int relaunchMaxWaitSeconds;
+
+    /** When false, votes only come from /ok, /wait and the clickable buttons. */
+    public final boolean chatVotingEnabled;
+
+    public final int renderCacheMaxEntries;
+    public final boolean watchConfigFile;
+
+    public final BossBarSettings bossBar;
+    public final IdleSettings idle;
+    public final MetricsSettings metrics;
+    public final AuditSettings audit;
+    public final WarmupSettings warmup;
+    public final AudienceSettings audiences;
+
+    /** Class histogram at commit (see {@code HeapHistogram}); opt-in. A capture slower than the budget is discarded. */
+    public final boolean histogramEnabled;
+    public final int histogramBudgetMs;
+
+    public final JfrSettings jfr;
+
+    /** Crash downtime via {@code Heartbeat}; read at startup only. */
+    public final boolean heartbeatEnabled;
+
+    /** Chrome trace export of sessions and restarts (see {@link TraceRecorder}). */
+    public final boolean traceEnabled;
+    public final int traceKeepFiles;
+
+    /** name -> "<#RRGGBB>" */
+    public final Map<String, String> palette;
+    public final TemplatePools pools;
+    public final VoteKeywords voteKeywords;
+
+    /** section -> its leaf values by full path, compared with equals to find changed sections. */
+    private final Map<String, Map<String, Object>> sectionValues;
+
+    /**
+     * AFK detection: a player is idle after {@code thresholdSeconds} without movement, rotation,
+     * chat, interaction or votes. Each online player is sampled once per {@code sampleIntervalSeconds}.
+     */
+    public record IdleSettings(boolean enabled, int thresholdSeconds, int sampleIntervalSeconds) {}
+
+    /**
+     * reboot.mode TRANSFER: where players go while this server restarts, how fast they are sent,
+     * and what to run once they are gone ({@code afterMode} is SHUTDOWN or COMMAND).
+     */
+    public record TransferSettings(
+            String host,
+            int port,
+            int batchSize,
+            int batchIntervalTicks,
+            int maxWaitSeconds,
+            String afterMode,
+            String notifyUrl,
+            String serverId,
+            String returnHost,
+            int returnPort
+    ) {}
+
+    /**
+     * Post-reboot chunk warm-up (see {@code ChunkWarmup}): {@code radius} chunks around each saved
+     * position, at most {@code maxChunks}, {@code perTick} requests per tick and {@code maxInFlight}
+     * outstanding; chunks stay ticketed for {@code holdSeconds}.
+     */
+    public record WarmupSettings(boolean enabled, int radius, int maxChunks, int perTick, int maxInFlight, int holdSeconds) {}
+
+    /**
+     * Shutdown watchdog (see {@code ShutdownWatchdog}); all times are seconds after the commit.
+     * {@code dumpAtSeconds} is sorted and below {@code exitAfterSeconds}, which is below {@code haltAfterSeconds}.
+     */
+    public record WatchdogSettings(boolean enabled, List<Integer> dumpAtSeconds, int exitAfterSeconds, int haltAfterSeconds, int exitCode) {}
+
+    /** Continuous JFR recording dumped at commit (see {@code FlightRecording}); opt-in, read at startup. */
+    public record JfrSettings(boolean enabled, int maxAgeMinutes, int maxSizeMb, int keepFiles) {}
+
+    /** Recipients of each broadcast pool; hold_reminder is the repeating reminder while paused. */
+    public record AudienceSettings(
+            Recipients start,
+            Recipients hold,
+            Recipients holdReminder,
+            Recipients callout,
+            Recipients allOk,
+            Recipients fin,
+            Recipients canceled
+    ) {}
+
+    /** Session audit log (see {@link AuditLog}); files older than maxAgeDays or beyond maxTotalBytes are pruned. */
+    public record AuditSettings(boolean enabled, int maxAgeDays, long maxTotalBytes, int queueCapacity) {}
+
+    /** Prometheus endpoint; binds to localhost by default. */
+    public record MetricsSettings(boolean enabled, String bind, int port, String path) {}
+
+    /**
+     * Boss bar countdown options. Titles live in the messages section (see {@link TemplatePools}).
+     *
+     * @param throttleAboveMspt      when the average tick time exceeds this, title/progress pushes are rate-limited
+     * @param throttledUpdateSeconds minimum seconds between pushes while throttled
+     */
+    public record BossBarSettings(
+            boolean enabled,
+            BossBar.Color color,
+            BossBar.Color pausedColor,
+            BossBar.Overlay overlay,
+            double throttleAboveMspt,
+            int throttledUpdateSeconds
+    ) {}
+
+    private RebootVoteSettings(Config cfg, RebootVoteSettings previous, Map<String, Map<String, Object>> sectionValues) {
+        this.defaultRebootSeconds = cfg.getInt("default-reboot-time", 45);
+        this.statusUpdateIntervalSeconds = cfg.getInt("status-update-interval", 15);
+        this.holdReminderIntervalSeconds = cfg.getInt("hold-reminder-interval", 60);
+        this.holdBroadcastCooldownSeconds = cfg.getLong("anti_spam.hold_broadcast_cooldown_seconds", 3L);
+        this.voteRatePerSecond = Math.max(0.1, cfg.getDouble("anti_spam.votes_per_second", 1.0));
+        this.voteBurst = Math.max(1, cfg.getInt("anti_spam.vote_burst", 3));
+
+        this.rebootMode = cfg.getString("reboot.mode", "SHUTDOWN");
+        this.rebootCommand = cfg.getString("reboot.command", "restart");
+        this.transfer = new TransferSettings(
+                cfg.getString("reboot.transfer.host", ""),
+                cfg.getInt("reboot.transfer.port", 25565),
+                Math.max(1, cfg.getInt("reboot.transfer.batch_size", 10)),
+                Math.max(1, cfg.getInt("reboot.transfer.batch_interval_ticks", 2)),
+                Math.max(1, cfg.getInt("reboot.transfer.max_wait_seconds", 10)),
+                cfg.getString("reboot.transfer.after", "SHUTDOWN"),
+                cfg.getString("reboot.transfer.notify_url", ""),
+                cfg.getString("reboot.transfer.server_id", ""),
+                cfg.getString("reboot.transfer.return_host", ""),
+                cfg.getInt("reboot.transfer.return_port", 25565)
+        );
+
+        int exitAfter = Math.max(10, cfg.getInt("reboot.watchdog.exit_after_seconds", 60));
+        int haltAfter = Math.max(exitAfter + 5, cfg.getInt("reboot.watchdog.halt_after_seconds", 90));
+        List<Integer> dumpAt = new ArrayList<>();
+        for (int sec : cfg.getIntegerList("reboot.watchdog.dump_at_seconds")) {
+            if (sec > 0 && sec < exitAfter && !dumpAt.contains(sec)) dumpAt.add(sec);
+        }
+        Collections.sort(dumpAt);
+        this.watchdog = new WatchdogSettings(
+                cfg.getBoolean("reboot.watchdog.enabled", false),
+                List.copyOf(dumpAt),
+                exitAfter,
+                haltAfter,
+                cfg.getInt("reboot.watchdog.exit_code", 0)
+        );
+
+        this.relaunchMaxWaitSeconds = Math.max(5, cfg.getInt("reboot.relaunch.max_wait_seconds", 120));
+
+        this.chatVotingEnabled = cfg.getBoolean("vote_keywords.chat_enabled", true);
+
+        this.renderCacheMaxEntries = cfg.getInt("render-cache.max-entries", 256);
+        this.watchConfigFile = cfg.getBoolean("config-reload.watch-file", false);
+
+        this.bossBar = new BossBarSettings(
+                cfg.getBoolean("bossbar.enabled", false),
+                parseEnum(BossBar.Color.class, cfg.getString("bossbar.color"), BossBar.Color.YELLOW),
+                parseEnum(BossBar.Color.class, cfg.getString("bossbar.paused_color"), BossBar.Color.RED),
+                parseEnum(BossBar.Overlay.class, cfg.getString("bossbar.overlay"), BossBar.Overlay.PROGRESS),
+                cfg.getDouble("bossbar.throttle_above_mspt", 45.0),
+                Math.max(1, cfg.getInt("bossbar.throttled_update_seconds", 5))
+        );
+
+        this.idle = new IdleSettings(
+                cfg.getBoolean("idle.enabled", true),
+                Math.max(10, cfg.getInt("idle.threshold_seconds", 180)),
+                Math.max(1, cfg.getInt("idle.sample_interval_seconds", 5))
+        );
+
+        String metricsPath = cfg.getString("metrics.path", "/metrics");
+        this.metrics = new MetricsSettings(
+                cfg.getBoolean("metrics.enabled", false),
+                cfg.getString("metrics.bind", "127.0.0.1"),
+                cfg.getInt("metrics.port", 9465),
+                metricsPath.startsWith("/") ? metricsPath : "/" + metricsPath
+        );
+
+        this.audit = new AuditSettings(
+                cfg.getBoolean("audit.enabled", true),
+                Math.max(1, cfg.getInt("audit.max-age-days", 30)),
+                Math.max(1L, cfg.getLong("audit.max-total-mb", 20L)) * 1024L * 1024L,
+                Math.max(8, cfg.getInt("audit.queue-capacity", 64))
+        );
+
+        this.histogramEnabled = cfg.getBoolean("histogram.enabled", false);
+        this.histogramBudgetMs = Math.max(500, cfg.getInt("histogram.budget_ms", 10000));
+
+        this.jfr = new JfrSettings(
+                cfg.getBoolean("jfr.enabled", false),
+                Math.max(1, cfg.getInt("jfr.max_age_minutes", 10)),
+                Math.max(8, cfg.getInt("jfr.max_size_mb", 64)),
+                Math.max(1, cfg.getInt("jfr.keep_files", 10))
+        );
+
+        this.heartbeatEnabled = cfg.getBoolean("heartbeat.enabled", true);
+
+        this.traceEnabled = cfg.getBoolean("trace.enabled", true);
+        this.traceKeepFiles = Math.max(1, cfg.getInt("trace.keep_files", 20));
+
+        this.warmup = new WarmupSettings(
+                cfg.getBoolean("warmup.enabled", true),
+                Math.max(0, Math.min(8, cfg.getInt("warmup.radius", 2))),
+                Math.max(1, cfg.getInt("warmup.max_chunks", 400)),
+                Math.max(1, cfg.getInt("warmup.per_tick", 4)),
+                Math.max(1, cfg.getInt("warmup.max_in_flight", 16)),
+                Math.max(0, cfg.getInt("warmup.hold_seconds", 120))
+        );
+
+        this.audiences = new AudienceSettings(
+                parseEnum(Recipients.class, cfg.getString("audiences.start"), Recipients.EVERYONE),
+                parseEnum(Recipients.class, cfg.getString("audiences.hold"), Recipients.EVERYONE),
+                parseEnum(Recipients.class, cfg.getString("audiences.hold_reminder"), Recipients.EVERYONE),
+                parseEnum(Recipients.class, cfg.getString("audiences.callout"), Recipients.EVERYONE),
+                parseEnum(Recipients.class, cfg.getString("audiences.all_ok"), Recipients.EVERYONE),
+                parseEnum(Recipients.class, cfg.getString("audiences.final"), Recipients.EVERYONE),
+                parseEnum(Recipients.class, cfg.getString("audiences.canceled"), Recipients.EVERYONE)
+        );
+
+        this.sectionValues = sectionValues;
+
+        this.palette = reuse(previous, SECTION_PALETTE) ? previous.palette : parsePalette(cfg);
+        this.pools = reuse(previous, SECTION_MESSAGES) ? previous.pools : new TemplatePools(cfg);
+        this.voteKeywords = reuse(previous, SECTION_KEYWORDS) ? previous.voteKeywords : new VoteKeywords(cfg);
+    }
+
+    /**
+     * Builds a snapshot from a freshly loaded config, reusing compiled sections of
+     * {@code previous} (may be null) whose content did not change.
+     */
+    static RebootVoteSettings from(Config cfg, RebootVoteSettings previous) {
+        Map<String, Map<String, Object>> values = new HashMap<>();
+        for (String section : TRACKED_SECTIONS) {
+            values.put(section, cfg.leaves(section));
+        }
+        return new RebootVoteSettings(cfg, previous, Collections.unmodifiableMap(values));
+    }
+
+    /**
+     * Sections whose content differs from {@code previous}; all of them if there is no previous snapshot.
+     */
+    Set<String> changedSections(RebootVoteSettings previous) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (String section : TRACKED_SECTIONS) {
+            if (!reuse(previous, section)) {
+                changed.add(section);
+            }
+        }
+        return changed;
+    }
+
+    private boolean reuse(RebootVoteSettings previous, String section) {
+        return previous != null && previous.sectionValues.get(section).equals(sectionValues.get(section));
+    }
+
+    private static Map<String, String> parsePalette(Config cfg) {
+        Map<String, String> map = new HashMap<>();
+        Config sec = cfg.getSection(SECTION_PALETTE);
+        if (sec != null) {
+            for (String key : sec.getKeys()) {
+                String hex = sec.getString(key, "").trim();
+                if (hex.isEmpty()) continue;
+                map.put(key.toLowerCase(Locale.ROOT), "<" + hex + ">");
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String raw, E fallback) {
+        if (raw == null || raw.isBlank()) return fallback;
+        try {
+            return Enum.valueOf(type, raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return fallback;
+        }
+    }
+}
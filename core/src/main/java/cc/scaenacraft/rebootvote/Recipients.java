@@ -0,0 +1,16 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/Recipients.java
+package cc.scaenacraft.rebootvote;
+
+/**
+ * Who receives a broadcast pool (config: audiences.*). The console always gets a copy.
+ */
+public enum Recipients {
+    /** Every online player. */
+    EVERYONE,
+    /** Players who have not voted yet this session. */
+    NON_VOTERS,
+    /** Players currently holding the reboot (voted WAIT). */
+    HOLDERS,
+    /** Players with rebootvote.admin. */
+    STAFF
+}
@@ -0,0 +1,87 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/RenderCache.java
+package cc.scaenacraft.rebootvote;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of fully rendered broadcast blocks.
+ *
+ * Keyed by the raw template string plus the resolved placeholder values, so a repeated
+ * callout or hold reminder with unchanged values costs one hash lookup instead of a
+ * palette pass and a MiniMessage parse per line.
+ *
+ * Main thread only (like MessageService itself).
+ */
+final class RenderCache {
+
+    /** {@code pools} is compared by identity: locale variants carry their own button labels. */
+    record Key(TemplatePools pools, String template, Placeholders values) {}
+
+    private final LinkedHashMap<Key, Component> entries;
+    private int maxEntries;
+
+    private long hits = 0L;
+    private long misses = 0L;
+
+    RenderCache(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Component> eldest) {
+                return size() > RenderCache.this.maxEntries;
+            }
+        };
+    }
+
+    boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    Component get(Key key) {
+        if (!isEnabled()) return null;
+
+        Component cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return cached;
+    }
+
+    void put(Key key, Component rendered) {
+        if (!isEnabled() || rendered == null) return;
+        entries.put(key, rendered);
+    }
+
+    /**
+     * Drops every entry (palette/templates changed). Hit/miss counters are kept so they
+     * describe the whole uptime.
+     */
+    void invalidate() {
+        entries.clear();
+    }
+
+    /** Changes the bound; when it shrinks, the least recently used entries are evicted. */
+    void resize(int newMaxEntries) {
+        this.maxEntries = Math.max(0, newMaxEntries);
+
+        Iterator<Key> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    String statsDisplay() {
+        long total = hits + misses;
+        String rate = total == 0 ? "n/a" : String.format(Locale.ROOT, "%.1f%%", hits * 100.0 / total);
+        return "hits " + hits + " | misses " + misses + " | hit rate " + rate
+                + " | size " + entries.size() + "/" + maxEntries;
+    }
+}
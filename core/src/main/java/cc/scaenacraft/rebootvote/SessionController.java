@@ -0,0 +1,365 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/SessionController.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.platform.Platform;
+import cc.scaenacraft.rebootvote.platform.Sender;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import net.kyori.adventure.text.Component;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Owns the live {@link RebootSession} and everything around it that is not tied to a server:
+ * the start/cancel/force commands (including the ephemeral force session), the vote gate,
+ * the metrics brackets around every entry point, audience tracking, and the
+ * {@link RebootLatches} shared by all sessions.
+ *
+ * Sessions talk to this controller as their {@link SessionHost}; it applies the latches and
+ * the ephemeral-session guard, then hands the rest to its owner (the plugin, or the
+ * simulator in tests). Main thread, except where a method says otherwise.
+ */
+final class SessionController implements SessionHost, VoteIngress {
+
+    /** What a /rebootvote force did. */
+    enum Force {
+        /** A reboot action already ran since the last session started; nothing was done. */
+        UNDER_WAY,
+        /** The live session was forced. */
+        SESSION,
+        /** No session was live; a one-second session was made just to force it. */
+        EPHEMERAL
+    }
+
+    private final SessionHost owner;
+    private final Platform platform;
+    private final MessageService messages;
+    private final Supplier<RebootVoteSettings> settings;
+    private final Supplier<IdleSampler> idleSampler;
+    private final Logger log;
+
+    private final VoteGate voteGate = new VoteGate();
+
+    /** Commit side effects and the reboot action run once per reboot, whichever session asks. */
+    private final RebootLatches latches = new RebootLatches();
+
+    /** Written on the main thread only; volatile so async readers can reach its snapshot. */
+    private volatile RebootSession session;
+
+    /** Metrics of the running (or most recent) session; read by async listeners. */
+    private volatile SessionMetrics lastMetrics;
+
+    private boolean tracking = false;
+
+    SessionController(SessionHost owner, Platform platform, MessageService messages,
+                      Supplier<RebootVoteSettings> settings, Supplier<IdleSampler> idleSampler, Logger log) {
+        this.owner = owner;
+        this.platform = platform;
+        this.messages = messages;
+        this.settings = settings;
+        this.idleSampler = idleSampler;
+        this.log = log;
+    }
+
+    /* -------------------------------------------------------------------------
+     * State
+     * ---------------------------------------------------------------------- */
+
+    boolean isActive() {
+        RebootSession s = session;
+        return s != null && s.isActive();
+    }
+
+    /** The live or most recent session; null before the first start. */
+    RebootSession session() {
+        return session;
+    }
+
+    /**
+     * Latest published session state, or {@link SessionSnapshot#NONE}. Lock-free; safe from any thread.
+     */
+    SessionSnapshot snapshot() {
+        RebootSession s = session;
+        return s == null ? SessionSnapshot.NONE : s.snapshot();
+    }
+
+    /** Null until a session has run. Safe from any thread. */
+    SessionMetrics lastMetrics() {
+        return lastMetrics;
+    }
+
+    /** A reboot is committed and waiting out its delay; no session may start meanwhile. */
+    boolean rebootPending() {
+        return latches.actionPending();
+    }
+
+    /* -------------------------------------------------------------------------
+     * Commands
+     * ---------------------------------------------------------------------- */
+
+    /**
+     * Starts a session; null if one is already running or a committed reboot is still
+     * pending. {@code calloutSeconds} 0 turns chat callouts off.
+     */
+    RebootSession start(int seconds, int calloutSeconds, boolean bossBar) {
+        if (isActive() || latches.actionPending()) return null;
+
+        // Still here after the last reboot action (COMMAND mode): this session may commit again.
+        latches.reset();
+
+        messages.ensureFreshButtons();
+
+        // Config is already parsed and validated (reloads happen off-thread), so starting is instant.
+        RebootVoteSettings s = settings.get();
+        RebootSession started = new RebootSession(
+                this,
+                platform,
+                messages,
+                s.pools,
+                bossBar ? new BossBarCountdown(platform, messages, s.pools, s.bossBar) : null,
+                idleSampler.get(),
+                seconds,
+                s.holdBroadcastCooldownSeconds,
+                calloutSeconds,
+                s.holdReminderIntervalSeconds,
+                s.audiences
+        );
+        session = started;
+        lastMetrics = started.metrics();
+        voteGate.clear();
+        if (!tracking) {
+            messages.startAudienceTracking();
+            tracking = true;
+        }
+        started.start();
+        return started;
+    }
+
+    /** False if no session is running. */
+    boolean cancel(Sender by) {
+        if (!isActive()) return false;
+        session.cancel(by);
+        return true;
+    }
+
+    /** False if no session is running. */
+    boolean status(Sender to) {
+        if (!isActive()) return false;
+        session.status(to);
+        return true;
+    }
+
+    Force force(Sender by) {
+        if (latches.actionStarted()) return Force.UNDER_WAY;
+
+        if (isActive()) {
+            session.forceReboot(by);
+            return Force.SESSION;
+        }
+
+        RebootVoteSettings s = settings.get();
+        RebootSession ephemeral = new RebootSession(
+                this,
+                platform,
+                messages,
+                s.pools,
+                null,
+                null,
+                1,
+                s.holdBroadcastCooldownSeconds,
+                s.statusUpdateIntervalSeconds,
+                s.holdReminderIntervalSeconds,
+                s.audiences
+        );
+        ephemeral.forceReboot(by);
+        return Force.EPHEMERAL;
+    }
+
+    /** Ends the live session without broadcasts (server shutdown). */
+    void endSilently() {
+        if (isActive()) session.endSilently();
+    }
+
+    /* -------------------------------------------------------------------------
+     * Votes and players
+     * ---------------------------------------------------------------------- */
+
+    /**
+     * Duplicate/rate check for a vote from chat, a button or /ok,/wait; call before
+     * scheduling {@link #handleVote}. A repeated vote is confirmed back to the player;
+     * throttled players are told once per streak. Safe from any thread.
+     */
+    VoteGate.Decision admit(Voter player, Vote vote) {
+        RebootVoteSettings s = settings.get();
+        VoteGate.Decision decision = voteGate.admit(player.id(), vote, s.voteRatePerSecond, s.voteBurst);
+        if (decision == VoteGate.Decision.ACCEPT) return decision;
+
+        SessionMetrics m = lastMetrics;
+        if (m != null) m.noteVoteDropped();
+
+        if (decision == VoteGate.Decision.DUPLICATE) {
+            // Nothing changes, but a silent no-op reads like a lost vote.
+            Component feedback = messages.renderDetached(s.pools.forLocale(player.locale()).voteUnchanged, vote);
+            if (feedback != null) player.sendMessage(feedback);
+        } else if (decision == VoteGate.Decision.THROTTLED) {
+            Component feedback = messages.renderDetached(s.pools.forLocale(player.locale()).voteThrottled);
+            if (feedback != null) player.sendMessage(feedback);
+        }
+        return decision;
+    }
+
+    @Override
+    public boolean admitVote(Voter player, Vote vote) {
+        return admit(player, vote) == VoteGate.Decision.ACCEPT;
+    }
+
+    @Override
+    public void handleVote(Voter player, Vote vote) {
+        // Scheduled from the chat thread: the player may have quit before this ran, and a
+        // late vote must not re-add them as a voter (an offline holder would pause forever).
+        if (!player.isOnline()) return;
+
+        noteActivity(player.id());
+        if (!isActive()) return;
+
+        SessionMetrics m = session.metrics();
+        m.begin();
+        try {
+            session.onVote(player, vote);
+        } finally {
+            m.end(SessionMetrics.Op.VOTE);
+        }
+        voteGate.record(player.id(), vote);
+    }
+
+    /**
+     * Called by listeners right before they hand work to the main thread. Safe from any thread.
+     */
+    void noteIngressTask() {
+        SessionMetrics m = lastMetrics;
+        if (m != null) m.noteTaskScheduled();
+    }
+
+    /**
+     * Chat/interaction/vote activity for idle detection. Safe from any thread.
+     */
+    void noteActivity(UUID playerId) {
+        IdleSampler sampler = idleSampler.get();
+        if (sampler != null) sampler.noteActivity(playerId);
+    }
+
+    void handleIdleChange(UUID playerId, boolean idle) {
+        if (!isActive()) return;
+
+        SessionMetrics m = session.metrics();
+        m.begin();
+        try {
+            session.onIdleChanged(playerId, idle);
+        } finally {
+            m.end(SessionMetrics.Op.IDLE);
+        }
+    }
+
+    void handleJoin(Voter player) {
+        // A vote admitted while the player was away never reached the session.
+        voteGate.forget(player.id());
+        messages.noteJoin(player);
+        if (!isActive()) return;
+
+        SessionMetrics m = session.metrics();
+        m.begin();
+        try {
+            session.onPlayerJoin(player);
+        } finally {
+            m.end(SessionMetrics.Op.JOIN);
+        }
+    }
+
+    void handleQuit(Voter player) {
+        messages.noteQuit(player);
+        voteGate.forget(player.id());
+        if (!isActive()) return;
+
+        SessionMetrics m = session.metrics();
+        m.begin();
+        try {
+            session.onPlayerQuit(player);
+        } finally {
+            m.end(SessionMetrics.Op.QUIT);
+        }
+    }
+
+    void handleLocaleChange(Voter player, Locale locale) {
+        messages.noteLocaleChange(player, locale);
+        if (!isActive()) return;
+
+        session.onLocaleChanged(player, locale);
+    }
+
+    /* -------------------------------------------------------------------------
+     * SessionHost
+     * ---------------------------------------------------------------------- */
+
+    @Override
+    public TraceRecorder trace() {
+        return owner.trace();
+    }
+
+    /** Only the first commit per reboot reaches the owner; a force during the all-OK delay gets false. */
+    @Override
+    public boolean noteRebootCommitted(CommitReason reason, SessionSnapshot snapshot) {
+        if (!latches.commit()) {
+            SessionMetrics m = lastMetrics;
+            if (m != null) m.noteLatchRejected();
+            return false;
+        }
+        return owner.noteRebootCommitted(reason, snapshot);
+    }
+
+    /** Only the first reboot action per reboot reaches the owner. */
+    @Override
+    public void executeRebootAction() {
+        if (!latches.startAction()) {
+            SessionMetrics m = lastMetrics;
+            if (m != null) m.noteLatchRejected();
+            log.info("Reboot action already under way; ignoring a second request.");
+            return;
+        }
+        owner.executeRebootAction();
+    }
+
+    @Override
+    public void auditSession(AuditLog.Entry entry) {
+        owner.auditSession(entry);
+    }
+
+    @Override
+    public void exportSessionTrace() {
+        owner.exportSessionTrace();
+    }
+
+    @Override
+    public void onSessionEnded(RebootSession ended) {
+        // An ephemeral force session ending must not strip a live session's listeners.
+        if (session != null && session != ended && session.isActive()) return;
+        if (tracking) {
+            messages.stopAudienceTracking();
+            tracking = false;
+        }
+        owner.onSessionEnded(ended);
+    }
+
+    @Override
+    public String getLastRebootSecondsDisplay() {
+        return owner.getLastRebootSecondsDisplay();
+    }
+
+    @Override
+    public String getAvgRebootSecondsDisplay() {
+        return owner.getAvgRebootSecondsDisplay();
+    }
+}
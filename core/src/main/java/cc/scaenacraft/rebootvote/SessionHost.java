@@ -0,0 +1,39 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/SessionHost.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+
+/**
+ * What a {@link RebootSession} hands back to its owner: the {@link SessionController}, which
+ * in turn hands the same calls to the plugin (or the test simulator). All calls come from
+ * the main thread.
+ */
+interface SessionHost {
+
+    /** Timeline the session records its spans into. */
+    TraceRecorder trace();
+
+    /**
+     * The reboot is committed (countdown reached 0, all players voted OK, or forced). False if
+     * a reboot was already committed (by another session since the last start); nothing was
+     * done for this one.
+     */
+    boolean noteRebootCommitted(CommitReason reason, SessionSnapshot snapshot);
+
+    /** Runs the configured reboot action (shutdown, command, transfer, relaunch). */
+    void executeRebootAction();
+
+    /** The session is over; called once per session with its audit trail. */
+    void auditSession(AuditLog.Entry entry);
+
+    /** Writes the buffered trace of a session that ended without a reboot. */
+    void exportSessionTrace();
+
+    /** The session stopped taking input (cancel, commit, shutdown). */
+    void onSessionEnded(RebootSession ended);
+
+    String getLastRebootSecondsDisplay();
+
+    String getAvgRebootSecondsDisplay();
+}
@@ -0,0 +1,102 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/SessionMetrics.java
+package cc.scaenacraft.rebootvote;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Main-thread cost accounting for one RebootSession.
+ *
+ * Every entry point into the session (countdown tick, hold reminder, vote, join, quit,
+ * idle change) is bracketed with {@link #begin()} / {@link #end(Op)}, recording wall time
+ * and bytes allocated on the calling thread. Nested entries (a vote that triggers the
+ * all-OK broadcast) are counted once, by the outermost bracket.
+ *
+ * Also counts scheduled tasks, votes dropped at ingress by {@link VoteGate}, and latch
+ * rejections (a second attempt to schedule or run the reboot), which should be the only
+ * visible effect of racing commit paths.
+ * Shown by /rebootvote perf.
+ */
+public final class SessionMetrics {
+
+    public enum Op { TICK, REMINDER, VOTE, JOIN, QUIT, IDLE }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final long[] calls = new long[Op.values().length];
+    private final long[] nanos = new long[Op.values().length];
+    private final long[] maxNanos = new long[Op.values().length];
+    private long allocatedBytes = 0L;
+
+    private int depth = 0;
+    private long startNanos;
+    private long startAlloc;
+
+    /** Incremented from async ingress threads too. */
+    private final LongAdder tasksScheduled = new LongAdder();
+    private final LongAdder votesDropped = new LongAdder();
+    private long latchRejections = 0L;
+
+    void begin() {
+        if (depth++ > 0) return;
+        startNanos = System.nanoTime();
+        startAlloc = currentThreadAllocated();
+    }
+
+    void end(Op op) {
+        if (--depth > 0) return;
+
+        long took = System.nanoTime() - startNanos;
+        int i = op.ordinal();
+        calls[i]++;
+        nanos[i] += took;
+        if (took > maxNanos[i]) maxNanos[i] = took;
+
+        long alloc = currentThreadAllocated();
+        if (alloc >= 0 && startAlloc >= 0) allocatedBytes += alloc - startAlloc;
+    }
+
+    public void noteTaskScheduled() {
+        tasksScheduled.increment();
+    }
+
+    public void noteVoteDropped() {
+        votesDropped.increment();
+    }
+
+    void noteLatchRejected() {
+        latchRejections++;
+    }
+
+    public long latchRejections() {
+        return latchRejections;
+    }
+
+    public String[] displayLines() {
+        String[] out = new String[Op.values().length + 1];
+        for (Op op : Op.values()) {
+            int i = op.ordinal();
+            double avgUs = calls[i] == 0 ? 0.0 : nanos[i] / 1000.0 / calls[i];
+            out[i] = String.format(Locale.ROOT, " - %-8s calls %d | avg %.1fus | max %.1fus",
+                    op.name().toLowerCase(Locale.ROOT), calls[i], avgUs, maxNanos[i] / 1000.0);
+        }
+        out[out.length - 1] = " - tasks scheduled " + tasksScheduled.sum()
+                + " | votes dropped at ingress " + votesDropped.sum()
+                + " | allocated " + (allocatedBytes / 1024) + " KiB"
+                + " | latch rejections " + latchRejections;
+        return out;
+    }
+
+    private static long currentThreadAllocated() {
+        return THREADS == null ? -1L : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/SessionTimeline.java
+package cc.scaenacraft.rebootvote;
+
+import java.util.*;
+
+/**
+ * What happened during one session, in order, for the audit log.
+ *
+ * Entries are plain text with a "+seconds" offset from the start. The list is capped so a
+ * long, busy session cannot grow without bound; the summary counters keep counting.
+ *
+ * Main thread only (owned by {@link RebootSession}).
+ */
+final class SessionTimeline {
+
+    private static final int MAX_LINES = 500;
+
+    private final long startedAtMs = System.currentTimeMillis();
+    private final List<String> lines = new ArrayList<>();
+    private int droppedLines = 0;
+
+    private int votes = 0;
+    private final Set<String> holders = new LinkedHashSet<>();
+    private long pausedSinceMs = -1L;
+    private long pausedTotalMs = 0L;
+
+    void note(String event) {
+        if (lines.size() >= MAX_LINES) {
+            droppedLines++;
+            return;
+        }
+        double offset = (System.currentTimeMillis() - startedAtMs) / 1000.0;
+        lines.add(String.format(Locale.ROOT, "+%.3f %s", offset, event));
+    }
+
+    void vote(String player, Vote vote) {
+        votes++;
+        if (vote == Vote.WAIT) holders.add(player);
+        note("VOTE " + player + " " + vote.name());
+    }
+
+    void paused(boolean paused) {
+        long now = System.currentTimeMillis();
+        if (paused && pausedSinceMs < 0) {
+            pausedSinceMs = now;
+            note("PAUSE");
+        } else if (!paused && pausedSinceMs >= 0) {
+            pausedTotalMs += now - pausedSinceMs;
+            pausedSinceMs = -1L;
+            note("RESUME");
+        }
+    }
+
+    /**
+     * Closes the timeline with its outcome (COUNTDOWN, ALL_OK, FORCED, CANCELED or ENDED).
+     */
+    AuditLog.Entry finish(String outcome, int countdownSeconds, int remainingSeconds, int onlineAtStart) {
+        long now = System.currentTimeMillis();
+        if (pausedSinceMs >= 0) pausedTotalMs += now - pausedSinceMs;
+        note("END " + outcome + " remaining=" + remainingSeconds + "s");
+        if (droppedLines > 0) lines.add("(" + droppedLines + " more events not recorded)");
+
+        return new AuditLog.Entry(
+                startedAtMs,
+                now,
+                outcome,
+                countdownSeconds,
+                onlineAtStart,
+                votes,
+                pausedTotalMs,
+                List.copyOf(holders),
+                List.copyOf(lines)
+        );
+    }
+}
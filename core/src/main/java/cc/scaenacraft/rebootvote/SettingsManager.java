@@ -0,0 +1,186 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/SettingsManager.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Platform;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Owns the current {@link RebootVoteSettings} snapshot.
+ *
+ * Reloads read and validate config.yml on an async thread, then publish the new snapshot
+ * on the main thread (where the MessageService palette/render cache live). Readers just
+ * call {@link #current()}; nothing on the vote path touches the disk. Components that are
+ * started or stopped by settings follow every publish through {@link #onPublished}, whichever
+ * path (startup, command, file watch) the reload came from.
+ */
+public final class SettingsManager {
+
+    private final Logger log;
+    private final Platform platform;
+    private final MessageService messages;
+    private final File file;
+
+    /** The bundled config.yml, parsed on first use. Guarded by {@code this}. */
+    private Config defaults;
+
+    private final AtomicReference<RebootVoteSettings> current = new AtomicReference<>();
+
+    /** Last snapshot built (may not be published yet). Guarded by {@code this}. */
+    private RebootVoteSettings lastBuilt;
+
+    /** Result of the startup load, shared by the background load and the fallback. Guarded by {@code this}. */
+    private Result initial;
+    private Runnable onReady; // main thread only
+    private Runnable onPublished; // main thread only
+
+    public SettingsManager(File dataFolder, Logger log, Platform platform, MessageService messages) {
+        this.log = log;
+        this.platform = platform;
+        this.messages = messages;
+        this.file = new File(dataFolder, "config.yml");
+    }
+
+    /**
+     * The published snapshot. If the startup load has not been published yet, waits for
+     * (or performs) it; on the main thread it is also published, so a vote that starts
+     * early gets exactly the settings the background load would have produced.
+     */
+    public RebootVoteSettings current() {
+        RebootVoteSettings s = current.get();
+        if (s != null) return s;
+
+        Result result = initialResult();
+        if (platform.scheduler().isOwnerThread()) publishInitial(result);
+        return result.settings;
+    }
+
+    /**
+     * Runs {@code listener} on the main thread after every publish, before the startup
+     * {@code onReady}. Set it before {@link #loadInBackground}.
+     */
+    public void onPublished(Runnable listener) {
+        this.onPublished = listener;
+    }
+
+    /**
+     * Startup load: parses and validates config.yml off-thread, then publishes on the main
+     * thread and calls {@code onReady} there.
+     */
+    public void loadInBackground(Runnable onReady) {
+        this.onReady = onReady;
+        platform.scheduler().async(() -> {
+            Result result;
+            try {
+                result = initialResult();
+            } catch (Exception ex) {
+                // The main-thread fallback in current() retries (and surfaces the error there).
+                log.warning("Config load failed: " + ex.getClass().getSimpleName() + ": " + ex.getMessage());
+                return;
+            }
+
+            platform.scheduler().later(() -> publishInitial(result), 0L);
+        });
+    }
+
+    private synchronized Result initialResult() {
+        if (initial == null) initial = build();
+        return initial;
+    }
+
+    private void publishInitial(Result result) {
+        if (current.get() != null) return; // an early reload or the fallback got there first
+        publish(result);
+    }
+
+    /**
+     * Parses and validates off-thread, then publishes on the main thread.
+     * The returned future completes on the main thread with the changed section names.
+     */
+    public CompletableFuture<Set<String>> reloadAsync() {
+        CompletableFuture<Set<String>> done = new CompletableFuture<>();
+
+        platform.scheduler().async(() -> {
+            Result result;
+            try {
+                result = build();
+            } catch (Exception ex) {
+                log.warning("Config reload failed: " + ex.getClass().getSimpleName() + ": " + ex.getMessage());
+                platform.scheduler().later(() -> done.completeExceptionally(ex), 0L);
+                return;
+            }
+
+            platform.scheduler().later(() -> {
+                publish(result);
+                done.complete(result.changed);
+            }, 0L);
+        });
+
+        return done;
+    }
+
+    private synchronized Result build() {
+        Config cfg;
+        try {
+            cfg = Config.load(file);
+        } catch (IOException ex) {
+            // Like a missing file: every setting at its default, and the reason in the log.
+            log.severe("Cannot load " + file + ": " + ex.getMessage());
+            cfg = Config.empty();
+        }
+        cfg = cfg.withDefaults(defaults());
+
+        RebootVoteSettings previous = lastBuilt;
+        RebootVoteSettings next = RebootVoteSettings.from(cfg, previous);
+        Set<String> changed = next.changedSections(previous);
+
+        // Templates only need re-validating when they or the palette they expand changed.
+        if (changed.contains(RebootVoteSettings.SECTION_PALETTE) || changed.contains(RebootVoteSettings.SECTION_MESSAGES)) {
+            messages.validateTemplates(next.pools, next.palette);
+        }
+
+        lastBuilt = next;
+        return new Result(next, changed);
+    }
+
+    private Config defaults() {
+        if (defaults != null) return defaults;
+
+        try (InputStream in = SettingsManager.class.getResourceAsStream("/config.yml")) {
+            defaults = in == null ? Config.empty() : Config.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("bundled config.yml", ex);
+        }
+        return defaults;
+    }
+
+    private void publish(Result result) {
+        RebootVoteSettings next = result.settings;
+        RebootVoteSettings previous = current.getAndSet(next);
+
+        if (result.changed.contains(RebootVoteSettings.SECTION_PALETTE)
+                || result.changed.contains(RebootVoteSettings.SECTION_MESSAGES)) {
+            messages.reloadPalette(next);
+        } else if (previous == null || previous.renderCacheMaxEntries != next.renderCacheMaxEntries) {
+            messages.resizeRenderCache(next.renderCacheMaxEntries);
+        }
+
+        if (onPublished != null) onPublished.run();
+
+        // First publish, whichever path it came from.
+        Runnable ready = onReady;
+        onReady = null;
+        if (ready != null) ready.run();
+    }
+
+    private record Result(RebootVoteSettings settings, Set<String> changed) {}
+}
@@ -0,0 +1,130 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/TemplatePools.java
+package cc.scaenacraft.rebootvote;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class TemplatePools {
+
+    public final List<String> start;
+    public final List<String> hold;
+    public final List<String> allOk;
+    public final List<String> fin;
+    public final List<String> canceled;
+    public final List<String> status;
+
+    /**
+     * Random callouts broadcast during an active countdown (when not paused).
+     * Falls back to {@link #status} if the callout pool is missing/empty.
+     */
+    public final List<String> callout;
+
+    /** Single-line boss bar titles (see bossbar.* in config). */
+    public final String bossBarTitle;
+    public final String bossBarPausedTitle;
+
+    /** Labels for the clickable <ok_button> / <wait_button> tags. */
+    public final String okButton;
+    public final String waitButton;
+
+    /** Told once to a player whose votes are being rate limited; blank = say nothing. */
+    public final String voteThrottled;
+
+    /** Sent when a player repeats the vote they already have; {@code <vote>} is ok/wait. Blank = say nothing. */
+    public final String voteUnchanged;
+
+    /** Locale key ("de_de", "de") -> pools; empty on locale variants themselves. */
+    private final Map<String, TemplatePools> locales;
+    private final Map<Locale, TemplatePools> resolved = new ConcurrentHashMap<>();
+
+    TemplatePools(Config cfg) {
+        this(cfg.getSection("messages"), null);
+    }
+
+    /**
+     * Reads one pool set from {@code sec}; keys missing there come from {@code fallback}.
+     * Nested sections of the root messages section are locale variants (messages.&lt;locale&gt;.*).
+     */
+    private TemplatePools(Config sec, TemplatePools fallback) {
+        this.start = list(sec, "start_templates", fallback == null ? null : fallback.start);
+        this.hold = list(sec, "hold_templates", fallback == null ? null : fallback.hold);
+        this.allOk = list(sec, "all_ok_templates", fallback == null ? null : fallback.allOk);
+        this.fin = list(sec, "final_templates", fallback == null ? null : fallback.fin);
+        this.canceled = list(sec, "canceled_templates", fallback == null ? null : fallback.canceled);
+        this.status = list(sec, "status_templates", fallback == null ? null : fallback.status);
+
+        List<String> callouts = list(sec, "callout_templates", fallback == null ? null : fallback.callout);
+        this.callout = (callouts == null || callouts.isEmpty()) ? this.status : callouts;
+
+        this.bossBarTitle = string(sec, "bossbar_title", fallback == null ? "" : fallback.bossBarTitle);
+        this.bossBarPausedTitle = string(sec, "bossbar_paused_title",
+                fallback == null || isSet(sec, "bossbar_title") ? this.bossBarTitle : fallback.bossBarPausedTitle);
+
+        this.okButton = string(sec, "ok_button", fallback == null ? "[OK]" : fallback.okButton);
+        this.waitButton = string(sec, "wait_button", fallback == null ? "[WAIT]" : fallback.waitButton);
+        this.voteThrottled = string(sec, "vote_throttled", fallback == null ? "" : fallback.voteThrottled);
+        this.voteUnchanged = string(sec, "vote_unchanged",
+                fallback == null ? "<c.gray>Your vote is already <c.white><bold><vote></bold></c.white><c.gray>." : fallback.voteUnchanged);
+
+        this.locales = fallback == null ? parseLocales(sec) : Map.of();
+    }
+
+    private Map<String, TemplatePools> parseLocales(Config sec) {
+        if (sec == null) return Map.of();
+
+        // Language-only keys first so "de_at" can fall back to "de" before the default pools.
+        List<String> keys = new ArrayList<>();
+        for (String key : sec.getKeys()) {
+            if (sec.isSection(key)) keys.add(key);
+        }
+        keys.sort(Comparator.comparingInt(String::length));
+
+        Map<String, TemplatePools> map = new LinkedHashMap<>();
+        for (String key : keys) {
+            String norm = normalizeLocaleKey(key);
+            int sep = norm.indexOf('_');
+            TemplatePools parent = sep > 0 ? map.getOrDefault(norm.substring(0, sep), this) : this;
+            map.put(norm, new TemplatePools(sec.getSection(key), parent));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Pools for a client locale: exact "lang_country", then "lang", then these default pools.
+     * Resolutions are memoized per snapshot; safe from any thread.
+     */
+    public TemplatePools forLocale(Locale locale) {
+        if (locale == null || locales.isEmpty()) return this;
+        return resolved.computeIfAbsent(locale, l -> {
+            String lang = l.getLanguage().toLowerCase(Locale.ROOT);
+            String country = l.getCountry().toLowerCase(Locale.ROOT);
+            TemplatePools p = country.isEmpty() ? null : locales.get(lang + "_" + country);
+            if (p == null) p = locales.get(lang);
+            return p != null ? p : this;
+        });
+    }
+
+    /** Configured locale variants keyed by normalized locale key (for validation). */
+    public Map<String, TemplatePools> localeVariants() {
+        return locales;
+    }
+
+    /** "de-DE" / "DE_de" -> "de_de". */
+    static String normalizeLocaleKey(String key) {
+        return key.trim().replace('-', '_').toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isSet(Config sec, String key) {
+        return sec != null && sec.contains(key);
+    }
+
+    private static List<String> list(Config sec, String key, List<String> fallback) {
+        if (isSet(sec, key)) return sec.getStringList(key);
+        if (fallback != null) return fallback;
+        return sec == null ? List.of() : sec.getStringList(key);
+    }
+
+    private static String string(Config sec, String key, String fallback) {
+        return sec == null ? fallback : sec.getString(key, fallback);
+    }
+}
@@ -0,0 +1,142 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/TraceRecorder.java
+package cc.scaenacraft.rebootvote;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Span / instant recorder for session and restart timelines, exported as Chrome
+ * trace-event JSON (open in chrome://tracing or ui.perfetto.dev).
+ *
+ * Events go into preallocated parallel arrays used as a ring buffer (the oldest events are
+ * overwritten), so recording is a few array stores: names are constant strings and the
+ * only argument is a number. Timestamps are wall-clock microseconds, so the traces written
+ * before a reboot and after it line up on one timeline.
+ *
+ * Main thread only; {@link #drainTo} hands a copy to the writer.
+ */
+public final class TraceRecorder {
+
+    private static final int CAPACITY = 8192;
+
+    // Chrome trace phases
+    static final char SPAN = 'X';
+    static final char INSTANT = 'i';
+    static final char BEGIN = 'B';
+    static final char END = 'E';
+
+    private final String[] names = new String[CAPACITY];
+    private final char[] phases = new char[CAPACITY];
+    private final long[] tsMicros = new long[CAPACITY];
+    private final long[] durMicros = new long[CAPACITY];
+    private final long[] args = new long[CAPACITY];
+    private int next = 0;
+    private int size = 0;
+
+    private final long baseEpochMicros = System.currentTimeMillis() * 1000L;
+    private final long baseNanos = System.nanoTime();
+
+    private volatile boolean enabled = true;
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Current time on the trace clock, in epoch microseconds. */
+    public long now() {
+        return baseEpochMicros + (System.nanoTime() - baseNanos) / 1000L;
+    }
+
+    /** A span that started at {@code startMicros} (from {@link #now()}) and ends now. */
+    public void span(String name, long startMicros, long arg) {
+        if (!enabled) return;
+        record(name, SPAN, startMicros, now() - startMicros, arg);
+    }
+
+    /** A span with explicit bounds, e.g. the downtime measured across a restart. */
+    public void spanAt(String name, long startMicros, long endMicros, long arg) {
+        if (!enabled) return;
+        record(name, SPAN, startMicros, Math.max(0L, endMicros - startMicros), arg);
+    }
+
+    public void instant(String name, long arg) {
+        if (!enabled) return;
+        record(name, INSTANT, now(), 0L, arg);
+    }
+
+    public void begin(String name) {
+        if (!enabled) return;
+        record(name, BEGIN, now(), 0L, 0L);
+    }
+
+    public void end(String name) {
+        if (!enabled) return;
+        record(name, END, now(), 0L, 0L);
+    }
+
+    private void record(String name, char phase, long ts, long dur, long arg) {
+        int i = next;
+        names[i] = name;
+        phases[i] = phase;
+        tsMicros[i] = ts;
+        durMicros[i] = dur;
+        args[i] = arg;
+        next = (i + 1) % CAPACITY;
+        if (size < CAPACITY) size++;
+    }
+
+    /**
+     * Serializes everything recorded so far (oldest first) as trace-event objects, one per
+     * line with a trailing comma, and clears the buffer. {@code pid} separates the boots.
+     */
+    String drainTo(int pid, String processName) {
+        StringBuilder sb = new StringBuilder(64 + size * 96);
+        sb.append("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":").append(pid)
+                .append(",\"tid\":1,\"args\":{\"name\":\"").append(processName).append("\"}},\n");
+
+        int start = (next - size + CAPACITY) % CAPACITY;
+        for (int k = 0; k < size; k++) {
+            int i = (start + k) % CAPACITY;
+            sb.append("{\"name\":\"").append(names[i])
+                    .append("\",\"cat\":\"rebootvote\",\"ph\":\"").append(phases[i])
+                    .append("\",\"ts\":").append(tsMicros[i]);
+            if (phases[i] == SPAN) sb.append(",\"dur\":").append(durMicros[i]);
+            if (phases[i] == INSTANT) sb.append(",\"s\":\"p\"");
+            sb.append(",\"pid\":").append(pid).append(",\"tid\":1");
+            if (phases[i] != END) sb.append(",\"args\":{\"v\":").append(args[i]).append('}');
+            sb.append("},\n");
+            names[i] = null;
+        }
+        size = 0;
+        next = 0;
+        return sb.toString();
+    }
+
+    /**
+     * Appends serialized events to a trace file, starting the JSON array if the file is new.
+     * The closing bracket is left off on purpose: trace viewers accept it, and it lets the
+     * next boot keep appending to the same file.
+     */
+    static void append(Path file, String events) throws IOException {
+        Files.createDirectories(file.getParent());
+        boolean fresh = !Files.exists(file);
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (fresh) out.write("[\n");
+            out.write(events);
+        }
+    }
+
+    static String fileStamp(long epochMs) {
+        return String.format(Locale.ROOT, "%tY%<tm%<td-%<tH%<tM%<tS", epochMs);
+    }
+}
@@ -1,4 +1,4 @@
-// src/main/java/cc/scaenacraft/rebootvote/Vote.java
+// core/src/main/java/cc/scaenacraft/rebootvote/Vote.java
 package cc.scaenacraft.rebootvote;
 
 public enum Vote {
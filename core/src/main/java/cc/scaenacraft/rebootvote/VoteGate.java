@@ -0,0 +1,94 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/VoteGate.java
+package cc.scaenacraft.rebootvote;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission check for votes, run on the ingress thread (async chat, click callbacks)
+ * before anything is handed to the main thread.
+ *
+ * Repeating the vote a player already has is dropped outright (the caller confirms the
+ * current vote to the player). "Already has" is what the main thread {@link #record}ed once
+ * the session applied a vote, never what was merely admitted: an admitted vote can still be
+ * dropped on the main thread (player gone, session over). Everything else spends a token
+ * from a per-player bucket
+ * (refilled at {@code ratePerSecond}, holding at most {@code burst}). So one client can cause at most {@code burst} main-thread votes at once
+ * and {@code ratePerSecond} after that, however fast it types.
+ *
+ * Per-player state is updated atomically through {@link ConcurrentHashMap#compute}.
+ */
+public final class VoteGate {
+
+    public enum Decision {
+        ACCEPT,
+        /** Same vote as the player's current one; nothing would change. */
+        DUPLICATE,
+        /** Out of tokens; first drop of a streak (worth telling the player). */
+        THROTTLED,
+        /** Out of tokens, player already told. */
+        THROTTLED_QUIET
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long refilledAtNanos;
+        Vote last = Vote.NONE;
+        boolean told = false;
+    }
+
+    private final ConcurrentHashMap<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public Decision admit(UUID player, Vote vote, double ratePerSecond, int burst) {
+        Decision[] out = new Decision[1];
+        buckets.compute(player, (id, b) -> {
+            long now = System.nanoTime();
+            if (b == null) {
+                b = new Bucket();
+                b.tokens = burst;
+                b.refilledAtNanos = now;
+            }
+
+            if (vote == b.last) {
+                out[0] = Decision.DUPLICATE;
+                return b;
+            }
+
+            b.tokens = Math.min(burst, b.tokens + (now - b.refilledAtNanos) / 1e9 * ratePerSecond);
+            b.refilledAtNanos = now;
+
+            if (b.tokens < 1.0) {
+                out[0] = b.told ? Decision.THROTTLED_QUIET : Decision.THROTTLED;
+                b.told = true;
+                return b;
+            }
+
+            b.tokens -= 1.0;
+            b.told = false;
+            out[0] = Decision.ACCEPT;
+            return b;
+        });
+        return out[0];
+    }
+
+    /**
+     * Records the vote the session now holds for {@code player}, so the duplicate check
+     * compares against it. Main thread, after the session applied the vote.
+     */
+    void record(UUID player, Vote vote) {
+        buckets.computeIfPresent(player, (id, b) -> {
+            b.last = vote;
+            return b;
+        });
+    }
+
+    /** Quit or join: the player's next session-side vote starts from nothing. */
+    void forget(UUID player) {
+        buckets.remove(player);
+    }
+
+    /** New session: everyone starts without a vote and with a full bucket. */
+    void clear() {
+        buckets.clear();
+    }
+}
@@ -0,0 +1,17 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/VoteIngress.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Voter;
+
+/**
+ * Where votes from clickable buttons go: {@link #admitVote} on the clicking thread, then
+ * {@link #handleVote} on the main thread.
+ */
+interface VoteIngress {
+
+    /** Duplicate/rate check; safe from any thread. False if the vote is dropped. */
+    boolean admitVote(Voter player, Vote vote);
+
+    /** Applies an admitted vote. Main thread. */
+    void handleVote(Voter player, Vote vote);
+}
@@ -0,0 +1,77 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/VoteKeywords.java
+package cc.scaenacraft.rebootvote;
+
+import java.util.*;
+
+/**
+ * Chat words that count as votes. Locale sections (vote_keywords.&lt;locale&gt;.ok/wait) add
+ * words for players whose client uses that locale; the top-level lists work for everyone.
+ *
+ * Immutable; classify is called from the async chat thread.
+ */
+public final class VoteKeywords {
+
+    private record Words(Set<String> okWords, Set<String> waitWords) {
+        Vote classify(String messageLowerTrimmed) {
+            if (okWords.contains(messageLowerTrimmed)) return Vote.OK;
+            if (waitWords.contains(messageLowerTrimmed)) return Vote.WAIT;
+            return null;
+        }
+    }
+
+    private final Words base;
+    private final Map<String, Words> locales;
+
+    VoteKeywords(Config cfg) {
+        this.base = words(cfg.getSection("vote_keywords"));
+
+        Map<String, Words> map = new HashMap<>();
+        Config sec = cfg.getSection("vote_keywords");
+        if (sec != null) {
+            for (String key : sec.getKeys()) {
+                if (!sec.isSection(key)) continue;
+                map.put(TemplatePools.normalizeLocaleKey(key), words(sec.getSection(key)));
+            }
+        }
+        this.locales = Collections.unmodifiableMap(map);
+    }
+
+    private static Words words(Config sec) {
+        if (sec == null) return new Words(Set.of(), Set.of());
+        return new Words(toSet(sec.getStringList("ok")), toSet(sec.getStringList("wait")));
+    }
+
+    private static Set<String> toSet(List<String> list) {
+        Set<String> set = new HashSet<>();
+        if (list == null) return set;
+        for (String s : list) {
+            if (s == null) continue;
+            String t = s.trim().toLowerCase(Locale.ROOT);
+            if (!t.isEmpty()) set.add(t);
+        }
+        return set;
+    }
+
+    public Vote classify(String messageLowerTrimmed) {
+        return base.classify(messageLowerTrimmed);
+    }
+
+    /**
+     * Checks the player's "lang_country" words, then "lang", then the shared lists.
+     */
+    public Vote classify(Locale locale, String messageLowerTrimmed) {
+        if (locale != null && !locales.isEmpty()) {
+            String lang = locale.getLanguage().toLowerCase(Locale.ROOT);
+            String country = locale.getCountry().toLowerCase(Locale.ROOT);
+
+            Words exact = country.isEmpty() ? null : locales.get(lang + "_" + country);
+            Vote vote = exact != null ? exact.classify(messageLowerTrimmed) : null;
+            if (vote != null) return vote;
+
+            Words language = locales.get(lang);
+            vote = language != null ? language.classify(messageLowerTrimmed) : null;
+            if (vote != null) return vote;
+        }
+        return base.classify(messageLowerTrimmed);
+    }
+}
@@ -0,0 +1,12 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/api/CommitReason.java
+package cc.scaenacraft.rebootvote.api;
+
+/** Why a reboot was committed. */
+public enum CommitReason {
+    /** The countdown reached 0. */
+    COUNTDOWN,
+    /** Every (non-idle) online player voted OK. */
+    ALL_OK,
+    /** An admin ran /rebootvote force. */
+    FORCED
+}
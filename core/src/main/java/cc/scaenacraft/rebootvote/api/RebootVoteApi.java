@@ -0,0 +1,34 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/api/RebootVoteApi.java
+package cc.scaenacraft.rebootvote.api;
+
+import java.util.OptionalLong;
+
+/**
+ * Read-only RebootVote service for other plugins, registered with Bukkit's ServicesManager:
+ *
+ * <pre>{@code
+ * RebootVoteApi api = Bukkit.getServicesManager().load(RebootVoteApi.class);
+ * }</pre>
+ *
+ * All methods are cheap snapshot reads and safe from any thread. For push notifications,
+ * listen to the events in {@code cc.scaenacraft.rebootvote.api.event}.
+ */
+public interface RebootVoteApi {
+
+    /** Latest session state ({@link SessionSnapshot#NONE} when no session has run). */
+    SessionSnapshot snapshot();
+
+    default SessionPhase phase() {
+        return snapshot().phase();
+    }
+
+    default int remainingSeconds() {
+        return snapshot().remainingSeconds();
+    }
+
+    /** Average measured reboot downtime, if any reboot has been measured. */
+    OptionalLong expectedDowntimeMillis();
+
+    /** Most recent measured reboot downtime, if any. */
+    OptionalLong lastDowntimeMillis();
+}
@@ -0,0 +1,17 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/api/SessionPhase.java
+package cc.scaenacraft.rebootvote.api;
+
+public enum SessionPhase {
+    /** No session has been started (or the plugin just enabled). */
+    NONE,
+    /** Counting down. */
+    COUNTDOWN,
+    /** Countdown held by at least one WAIT vote. */
+    PAUSED,
+    /** Reboot committed (countdown hit 0, all OK, or forced); the reboot action is pending or running. */
+    COMMITTED,
+    /** Canceled by an admin. */
+    CANCELED,
+    /** Ended silently (plugin shutdown). */
+    ENDED
+}
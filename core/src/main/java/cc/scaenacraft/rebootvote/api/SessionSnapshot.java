@@ -0,0 +1,32 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/api/SessionSnapshot.java
+package cc.scaenacraft.rebootvote.api;
+
+import java.util.List;
+
+/**
+ * Immutable view of a RebootSession, republished by the session (on the main thread)
+ * after every change. Any thread may read the latest one without locking or scheduling.
+ */
+public record SessionSnapshot(
+        SessionPhase phase,
+        int totalSeconds,
+        int remainingSeconds,
+        int onlineAtStart,
+        int voters,
+        int okVotes,
+        int waitVotes,
+        int idle,
+        List<String> holders,
+        boolean rebootCommitted,
+        boolean rebootScheduled,
+        boolean rebootTriggered,
+        long publishedAtMs
+) {
+
+    public static final SessionSnapshot NONE = new SessionSnapshot(
+            SessionPhase.NONE, 0, 0, 0, 0, 0, 0, 0, List.of(), false, false, false, 0L);
+
+    public boolean acceptingVotes() {
+        return phase == SessionPhase.COUNTDOWN || phase == SessionPhase.PAUSED;
+    }
+}
@@ -0,0 +1,12 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/api/VoteChoice.java
+package cc.scaenacraft.rebootvote.api;
+
+/** A player's vote in a session, as reported to integrations. */
+public enum VoteChoice {
+    /** Has not voted (or the vote was cleared). */
+    NONE,
+    /** Ready for the reboot. */
+    OK,
+    /** Holding the reboot; pauses the countdown. */
+    WAIT
+}
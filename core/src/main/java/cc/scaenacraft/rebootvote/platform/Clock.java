@@ -0,0 +1,13 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/platform/Clock.java
+package cc.scaenacraft.rebootvote.platform;
+
+/**
+ * Wall-clock source for session logic, so a headless run can drive time itself.
+ */
+@FunctionalInterface
+public interface Clock {
+
+    Clock SYSTEM = System::currentTimeMillis;
+
+    long millis();
+}
@@ -0,0 +1,29 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/platform/EventBus.java
+package cc.scaenacraft.rebootvote.platform;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.api.VoteChoice;
+
+/**
+ * Where session lifecycle changes are reported (the plugin's API events on Paper). Main
+ * thread only.
+ */
+public interface EventBus {
+
+    enum Kind { START, VOTE, PAUSE, COMMIT, CANCEL }
+
+    /** True if anything listens for {@code kind}; the session skips building the report otherwise. */
+    boolean hasListeners(Kind kind);
+
+    void started(SessionSnapshot snapshot);
+
+    void voted(SessionSnapshot snapshot, Voter voter, VoteChoice previous, VoteChoice vote);
+
+    /** {@code paused} is false when the countdown resumed. */
+    void paused(SessionSnapshot snapshot, boolean paused);
+
+    void committed(SessionSnapshot snapshot, CommitReason reason);
+
+    void canceled(SessionSnapshot snapshot, Sender by);
+}
@@ -0,0 +1,16 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/platform/Platform.java
+package cc.scaenacraft.rebootvote.platform;
+
+/**
+ * Everything the session state machine needs from the server, injected so the core logic
+ * ({@code RebootSession}, broadcasts, boss bar, idle sampling) depends on no server API.
+ * The paper module's {@code PaperPlatform} is the production adapter; tests and
+ * benchmarks supply fakes.
+ */
+public record Platform(
+        Clock clock,
+        TaskScheduler scheduler,
+        PlayerDirectory players,
+        EventBus events,
+        ServerControl server
+) {}
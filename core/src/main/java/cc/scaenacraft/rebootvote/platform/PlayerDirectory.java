@@ -0,0 +1,33 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/platform/PlayerDirectory.java
+package cc.scaenacraft.rebootvote.platform;
+
+import net.kyori.adventure.audience.Audience;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Who is online. Owner thread only, like the server's own player list.
+ */
+public interface PlayerDirectory {
+
+    int onlineCount();
+
+    /** Live, unmodifiable view of the online players; iterate it, do not keep it. */
+    Collection<? extends Voter> online();
+
+    /** The online player with this id, or null. */
+    Voter player(UUID id);
+
+    /**
+     * The player behind an audience the server handed back (a click callback), or null.
+     * Unlike the rest, safe from any thread: it only looks at the audience.
+     */
+    Voter player(Audience audience);
+
+    /** Display name of an online player, or null if they are not online. */
+    default String nameOf(UUID id) {
+        Voter p = player(id);
+        return p != null ? p.name() : null;
+    }
+}
@@ -0,0 +1,20 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/platform/Sender.java
+package cc.scaenacraft.rebootvote.platform;
+
+import net.kyori.adventure.audience.Audience;
+
+import java.util.Locale;
+
+/**
+ * Whoever ran a command, a player or the console, as the core sees them. Replies go
+ * through the {@link Audience} methods.
+ */
+public interface Sender extends Audience {
+
+    String name();
+
+    /** Client locale of a player; null for the console. */
+    Locale locale();
+
+    boolean hasPermission(String permission);
+}
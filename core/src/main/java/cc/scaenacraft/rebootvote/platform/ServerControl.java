@@ -0,0 +1,19 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/platform/ServerControl.java
+package cc.scaenacraft.rebootvote.platform;
+
+import net.kyori.adventure.audience.Audience;
+
+/**
+ * Server-wide pieces outside players and scheduling: console, load and shutdown.
+ */
+public interface ServerControl {
+
+    /** Where broadcasts are mirrored for the log. */
+    Audience console();
+
+    /** Average tick time in milliseconds (MSPT). */
+    double averageTickMs();
+
+    /** Starts a normal server shutdown (worlds saved, plugins disabled). */
+    void shutdown();
+}
@@ -0,0 +1,25 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/platform/TaskScheduler.java
+package cc.scaenacraft.rebootvote.platform;
+
+/**
+ * Tick-based scheduling on the thread that owns session state (the server main thread on
+ * Paper). Delays and periods are in server ticks (20 per second).
+ */
+public interface TaskScheduler {
+
+    /** A scheduled task that can be stopped. */
+    @FunctionalInterface
+    interface Task {
+        void cancel();
+    }
+
+    Task repeat(Runnable task, long delayTicks, long periodTicks);
+
+    Task later(Runnable task, long delayTicks);
+
+    /** Runs {@code task} off the owner thread (file and config work). */
+    void async(Runnable task);
+
+    /** True on the thread that owns session state. */
+    boolean isOwnerThread();
+}
@@ -0,0 +1,25 @@
+// core/src/main/java/cc/scaenacraft/rebootvote/platform/Voter.java
+package cc.scaenacraft.rebootvote.platform;
+
+import java.util.UUID;
+
+/**
+ * An online player as the core sees them: identity, locale, permissions, messages and
+ * boss bars (through {@link net.kyori.adventure.audience.Audience}), and where they stand.
+ *
+ * Handles are compared with {@code equals}; the platform may hand out a new one for the
+ * same player on every call.
+ */
+public interface Voter extends Sender {
+
+    /** Where a player stands and looks; two equal positions mean they did not move. */
+    record Position(UUID world, double x, double y, double z, float yaw, float pitch) {}
+
+    UUID id();
+
+    /** False once the player quit (a handle kept past that goes stale). */
+    boolean isOnline();
+
+    /** Main thread only. */
+    Position position();
+}
@@ -0,0 +1,98 @@
+// core/src/test/java/cc/scaenacraft/rebootvote/FakePlayer.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.platform.Voter;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The invocation handler behind a {@link Proxy} {@link Voter} (or any other sender/audience interface):
+ * identity, locale, position and staff permission, plus counters for what the plugin sent it.
+ * Every method not handled here returns the zero value of its type.
+ */
+final class FakePlayer implements InvocationHandler {
+
+    final UUID id;
+    final String name;
+    Locale locale;
+    boolean staff = false;
+    boolean online = true;
+    Voter.Position position = new Voter.Position(new UUID(0L, 0L), 0.5, 64.0, 0.5, 0f, 0f);
+
+    /** Chat messages received (any sendMessage overload). */
+    int messages = 0;
+    Component lastMessage;
+    final Set<BossBar> bossBars = new HashSet<>();
+
+    FakePlayer(UUID id, String name, Locale locale) {
+        this.id = id;
+        this.name = name;
+        this.locale = locale;
+    }
+
+    <T> T as(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(FakePlayer.class.getClassLoader(), new Class<?>[]{type}, this));
+    }
+
+    static FakePlayer of(Object proxy) {
+        return (FakePlayer) Proxy.getInvocationHandler(proxy);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "id":
+                return id;
+            case "name":
+                return name;
+            case "locale":
+                return locale;
+            case "isOnline":
+                return online;
+            case "position":
+                return position;
+            case "hasPermission":
+                return staff || MessageService.VOTE_PERMISSION.equals(args[0]);
+            case "sendMessage":
+                messages++;
+                if (args != null) {
+                    for (Object a : args) if (a instanceof Component c) lastMessage = c;
+                }
+                return null;
+            case "showBossBar":
+                bossBars.add((BossBar) args[0]);
+                return null;
+            case "hideBossBar":
+                bossBars.remove((BossBar) args[0]);
+                return null;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "FakePlayer[" + name + "]";
+            default:
+                return zero(method.getReturnType());
+        }
+    }
+
+    private static Object zero(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0.0;
+        if (type == int.class) return 0;
+        if (type == short.class) return (short) 0;
+        return (byte) 0;
+    }
+}
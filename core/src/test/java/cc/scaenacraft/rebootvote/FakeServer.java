@@ -0,0 +1,289 @@
+// core/src/test/java/cc/scaenacraft/rebootvote/FakeServer.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.api.VoteChoice;
+import cc.scaenacraft.rebootvote.platform.Clock;
+import cc.scaenacraft.rebootvote.platform.EventBus;
+import cc.scaenacraft.rebootvote.platform.Platform;
+import cc.scaenacraft.rebootvote.platform.PlayerDirectory;
+import cc.scaenacraft.rebootvote.platform.Sender;
+import cc.scaenacraft.rebootvote.platform.ServerControl;
+import cc.scaenacraft.rebootvote.platform.TaskScheduler;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import net.kyori.adventure.audience.Audience;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-process stand-in for the Paper server behind {@link Platform}: a manual tick loop with
+ * simulated time (50 ms per tick), the online player list ({@link FakePlayer}s), and counts of
+ * events, console output and shutdown requests.
+ *
+ * The thread that creates it is the main thread until another one {@linkplain #claimOwner()
+ * claims} it. Like Bukkit's scheduler, tasks may be scheduled from any thread; everything
+ * else is main-thread only.
+ */
+final class FakeServer implements Clock, TaskScheduler, PlayerDirectory, EventBus, ServerControl {
+
+    static final long TICK_MS = 50L;
+
+    private static final class Scheduled implements Task {
+        final Runnable task;
+        final long periodTicks;
+        long dueTick;
+        boolean canceled;
+
+        Scheduled(Runnable task, long dueTick, long periodTicks) {
+            this.task = task;
+            this.dueTick = dueTick;
+            this.periodTicks = periodTicks;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+    }
+
+    private volatile Thread owner = Thread.currentThread();
+    private final Platform platform = new Platform(this, this, this, this, this);
+
+    private final Map<UUID, Voter> online = new LinkedHashMap<>();
+    private final Collection<Voter> onlineView = Collections.unmodifiableCollection(online.values());
+
+    private final List<Scheduled> tasks = new ArrayList<>();
+    private long tasksScheduled = 0L;
+    private long currentTick = 0L;
+    private long nowMs = 1_700_000_000_000L;
+
+    /* Counted per kind, not kept: vote reports carry a snapshot, so keeping every one would not fit a 10k run. */
+    private final Map<Kind, Integer> eventCounts = new EnumMap<>(Kind.class);
+    private CommitReason lastCommitReason;
+    private boolean listening = true;
+
+    private final FakePlayer consoleHandler = new FakePlayer(new UUID(0L, 0L), "CONSOLE", Locale.US);
+    private final Audience console = consoleHandler.as(Audience.class);
+    private double averageTickMs = 10.0;
+    private int shutdownRequests = 0;
+
+    Platform platform() {
+        return platform;
+    }
+
+    /* -------------------------------------------------------------------------
+     * Time and ticks
+     * ---------------------------------------------------------------------- */
+
+    /**
+     * Advances one tick: the clock moves 50 ms, then every task due runs in scheduling
+     * order. Tasks scheduled while ticking run on a later tick, as on Paper.
+     */
+    void tick() {
+        synchronized (tasks) {
+            currentTick++;
+            nowMs += TICK_MS;
+
+            for (int i = 0, n = tasks.size(); i < n; i++) {
+                Scheduled s = tasks.get(i);
+                if (s.canceled || s.dueTick > currentTick) continue;
+                s.task.run();
+                if (s.periodTicks > 0) s.dueTick += s.periodTicks;
+                else s.canceled = true;
+            }
+            tasks.removeIf(s -> s.canceled);
+        }
+    }
+
+    void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) tick();
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /** Tasks handed to the scheduler so far. */
+    long tasksScheduled() {
+        return tasksScheduled;
+    }
+
+    /** Scheduled tasks not yet run or canceled. */
+    int pendingTasks() {
+        synchronized (tasks) {
+            int n = 0;
+            for (Scheduled s : tasks) if (!s.canceled) n++;
+            return n;
+        }
+    }
+
+    @Override
+    public long millis() {
+        return nowMs;
+    }
+
+    @Override
+    public Task repeat(Runnable task, long delayTicks, long periodTicks) {
+        return schedule(task, delayTicks, Math.max(1L, periodTicks));
+    }
+
+    @Override
+    public Task later(Runnable task, long delayTicks) {
+        return schedule(task, delayTicks, 0L);
+    }
+
+    /** Runs inline: the simulation has no worker threads, and async work must not care. */
+    @Override
+    public void async(Runnable task) {
+        task.run();
+    }
+
+    private Task schedule(Runnable task, long delayTicks, long periodTicks) {
+        synchronized (tasks) {
+            Scheduled s = new Scheduled(task, currentTick + Math.max(1L, delayTicks), periodTicks);
+            tasks.add(s);
+            tasksScheduled++;
+            return s;
+        }
+    }
+
+    @Override
+    public boolean isOwnerThread() {
+        return Thread.currentThread() == owner;
+    }
+
+    /** Makes the calling thread the main thread (stress tests, whose actors run on pool threads). */
+    void claimOwner() {
+        owner = Thread.currentThread();
+    }
+
+    /* -------------------------------------------------------------------------
+     * Players
+     * ---------------------------------------------------------------------- */
+
+    /** Adds an online player; the caller routes the join to the plugin side. */
+    Voter join(String name, Locale locale) {
+        return join(UUID.randomUUID(), name, locale);
+    }
+
+    /** Joins with a known id (a player rejoining). */
+    Voter join(UUID id, String name, Locale locale) {
+        Voter p = new FakePlayer(id, name, locale).as(Voter.class);
+        online.put(p.id(), p);
+        return p;
+    }
+
+    void quit(Voter player) {
+        online.remove(player.id());
+        FakePlayer.of(player).online = false;
+    }
+
+    @Override
+    public int onlineCount() {
+        return online.size();
+    }
+
+    @Override
+    public Collection<? extends Voter> online() {
+        return onlineView;
+    }
+
+    @Override
+    public Voter player(UUID id) {
+        return online.get(id);
+    }
+
+    @Override
+    public Voter player(Audience audience) {
+        return audience instanceof Voter v ? v : null;
+    }
+
+    /* -------------------------------------------------------------------------
+     * Events and server
+     * ---------------------------------------------------------------------- */
+
+    /** With false, {@link #hasListeners} reports nobody listening and no events are built. */
+    void setListening(boolean listening) {
+        this.listening = listening;
+    }
+
+    @Override
+    public boolean hasListeners(Kind kind) {
+        return listening;
+    }
+
+    @Override
+    public void started(SessionSnapshot snapshot) {
+        count(Kind.START);
+    }
+
+    @Override
+    public void voted(SessionSnapshot snapshot, Voter voter, VoteChoice previous, VoteChoice vote) {
+        count(Kind.VOTE);
+    }
+
+    @Override
+    public void paused(SessionSnapshot snapshot, boolean paused) {
+        count(Kind.PAUSE);
+    }
+
+    @Override
+    public void committed(SessionSnapshot snapshot, CommitReason reason) {
+        count(Kind.COMMIT);
+        lastCommitReason = reason;
+    }
+
+    @Override
+    public void canceled(SessionSnapshot snapshot, Sender by) {
+        count(Kind.CANCEL);
+    }
+
+    private void count(Kind kind) {
+        eventCounts.merge(kind, 1, Integer::sum);
+    }
+
+    int eventCount(Kind kind) {
+        return eventCounts.getOrDefault(kind, 0);
+    }
+
+    /** Reason of the last commit reported, or null if none was. */
+    CommitReason lastCommitReason() {
+        return lastCommitReason;
+    }
+
+    @Override
+    public Audience console() {
+        return console;
+    }
+
+    int consoleMessages() {
+        return consoleHandler.messages;
+    }
+
+    void setAverageTickMs(double mspt) {
+        this.averageTickMs = mspt;
+    }
+
+    @Override
+    public double averageTickMs() {
+        return averageTickMs;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdownRequests++;
+    }
+
+    int shutdownRequests() {
+        return shutdownRequests;
+    }
+}
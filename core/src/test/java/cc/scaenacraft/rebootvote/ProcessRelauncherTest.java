@@ -0,0 +1,109 @@
+// core/src/test/java/cc/scaenacraft/rebootvote/ProcessRelauncherTest.java
+package cc.scaenacraft.rebootvote;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Relaunches a real child JVM ({@link RelaunchProbe}) whose server thread is either blocked
+ * in System.exit when the hook runs, or still saving worlds after the exit started elsewhere.
+ */
+class ProcessRelauncherTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void relaunchesOnceTheServerThreadIsParkedInExit() throws Exception {
+        Path timings = dir.resolve("timings");
+        Path log = dir.resolve("probe.log");
+        long maxWaitMs = 20_000L;
+
+        Process probe = probe(timings, log, true, maxWaitMs, 0L);
+        assertTrue(probe.waitFor(30, TimeUnit.SECONDS), "the probe should exit once its hook has spawned");
+        assertEquals(0, probe.exitValue(), Files.readString(log));
+
+        String[] t = awaitFile(timings, 30_000L).split(" ");
+        long waited = Long.parseLong(t[0]);
+        long spawnToJvmStart = Long.parseLong(t[1]);
+        long spawnToNow = Long.parseLong(t[2]);
+        assertTrue(waited < maxWaitMs / 4, "waited " + waited + " ms; a server thread blocked in exit is done");
+        assertTrue(spawnToNow >= spawnToJvmStart, spawnToNow + " < " + spawnToJvmStart);
+    }
+
+    @Test
+    void waitsForTheWorldSaveAfterThePluginDisabled() throws Exception {
+        Path timings = dir.resolve("timings");
+        Path log = dir.resolve("probe.log");
+        long saveMs = 1_500L;
+
+        Process probe = probe(timings, log, true, 20_000L, saveMs);
+        assertTrue(probe.waitFor(30, TimeUnit.SECONDS), "the probe should exit once its hook has spawned");
+
+        long waited = Long.parseLong(awaitFile(timings, 30_000L).split(" ")[0]);
+        assertTrue(waited >= saveMs - 100L, "waited " + waited + " ms; spawned while the worlds were still saving");
+    }
+
+    @Test
+    void givesUpWhenTheWorldSaveOutlastsMaxWait() throws Exception {
+        Path timings = dir.resolve("timings");
+        Path log = dir.resolve("probe.log");
+
+        Process probe = probe(timings, log, true, 1_000L, 10_000L);
+        assertTrue(probe.waitFor(30, TimeUnit.SECONDS));
+
+        Thread.sleep(3_000L);
+        assertFalse(Files.exists(timings), Files.readString(log));
+    }
+
+    @Test
+    void givesUpWhenNeverReleased() throws Exception {
+        Path timings = dir.resolve("timings");
+        Path log = dir.resolve("probe.log");
+
+        long start = System.nanoTime();
+        Process probe = probe(timings, log, false, 1_000L, 0L);
+        assertTrue(probe.waitFor(30, TimeUnit.SECONDS));
+        long tookMs = (System.nanoTime() - start) / 1_000_000L;
+
+        assertTrue(tookMs >= 1_000L, "the hook should have waited out max wait, took " + tookMs + " ms");
+
+        // A spawn would have happened before the probe exited; give its child time to report.
+        Thread.sleep(3_000L);
+        assertFalse(Files.exists(timings), Files.readString(log));
+    }
+
+    private static Process probe(Path timings, Path log, boolean release, long maxWaitMs, long saveMs) throws IOException {
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                RelaunchProbe.class.getName(),
+                timings.toString(), Boolean.toString(release), Long.toString(maxWaitMs), Long.toString(saveMs));
+        // The relaunched generation inherits this output, so it must not be a pipe nobody drains.
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static String awaitFile(Path file, long timeoutMs) throws Exception {
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (Files.exists(file)) return Files.readString(file);
+            Thread.sleep(50L);
+        }
+        fail("relaunched process did not report within " + timeoutMs + " ms");
+        return null;
+    }
+}
@@ -0,0 +1,366 @@
+// core/src/test/java/cc/scaenacraft/rebootvote/RebootSessionSimulationTest.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionPhase;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.platform.EventBus;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scenario runs of a whole session on {@link SessionSimulator}, from 10 to 10,000 players:
+ * countdown, all-OK, ok/wait spam, join/quit churn, cancel and force. Each checks the
+ * reboot latches and what reached the host, and prints its per-tick cost.
+ */
+class RebootSessionSimulationTest {
+
+    private static final int TICKS_PER_SECOND = 20;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000, 10_000})
+    void countdownRunsOutAndRebootsOnce(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        sim.populate(players);
+        sim.start(30, 15, true);
+
+        SessionSimulator.TickStats stats = sim.run(31 * TICKS_PER_SECOND);
+        report(stats.display("countdown", players));
+
+        SessionSnapshot s = sim.snapshot();
+        assertEquals(SessionPhase.COMMITTED, s.phase());
+        assertTrue(s.rebootCommitted());
+        assertTrue(s.rebootTriggered());
+        assertFalse(s.rebootScheduled(), "a countdown reboot runs directly, not from a delayed task");
+        assertEquals(1, sim.commitCalls);
+        assertEquals(CommitReason.COUNTDOWN, sim.lastCommitReason);
+        assertEquals(1, sim.rebootActions);
+        assertEquals(1, sim.server.shutdownRequests());
+        assertEquals(1, sim.server.tasksScheduled(), "only the countdown task");
+        assertEquals(0, sim.server.pendingTasks());
+        assertEquals(1, sim.server.eventCount(EventBus.Kind.COMMIT));
+        assertEquals(CommitReason.COUNTDOWN, sim.server.lastCommitReason());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000, 10_000})
+    void allOkRebootsEarlyThroughOneDelayedTask(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        List<Voter> online = sim.populate(players);
+        sim.start(600, 15, true);
+
+        long t = System.nanoTime();
+        for (Voter p : online) assertEquals(VoteGate.Decision.ACCEPT, sim.vote(p, Vote.OK));
+        report(String.format("%-28s players %6d | %.1fus per vote", "all-ok votes", players,
+                (System.nanoTime() - t) / 1000.0 / players));
+
+        SessionSnapshot s = sim.snapshot();
+        assertTrue(s.rebootCommitted());
+        assertTrue(s.rebootScheduled());
+        assertFalse(s.rebootTriggered(), "the reboot waits one second for the all-OK broadcast");
+        assertEquals(CommitReason.ALL_OK, sim.lastCommitReason);
+        assertEquals(0, sim.rebootActions);
+
+        // Late votes and joins after the commit change nothing.
+        sim.vote(online.get(0), Vote.WAIT);
+        sim.join();
+
+        sim.run(TICKS_PER_SECOND);
+        s = sim.snapshot();
+        assertTrue(s.rebootTriggered());
+        assertEquals(1, sim.commitCalls);
+        assertEquals(1, sim.rebootActions);
+        assertEquals(0, s.waitVotes());
+        assertEquals(2, sim.server.tasksScheduled(), "countdown plus the delayed reboot");
+        assertEquals(0, sim.server.pendingTasks());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000, 10_000})
+    void okWaitSpamKeepsTheCountdownPausedAndTheTallyExact(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        List<Voter> online = sim.populate(players);
+        sim.start(20, 15, true);
+
+        // One player holds for the whole run; up to 50 others flip their vote every tick.
+        Voter holder = online.get(0);
+        sim.vote(holder, Vote.WAIT);
+        List<Voter> spammers = online.subList(1, 1 + Math.min(players - 1, 50));
+
+        Map<UUID, Vote> expected = new HashMap<>();
+        expected.put(holder.id(), Vote.WAIT);
+        int dropped = 0;
+
+        SessionSimulator.TickStats total = null;
+        for (int tick = 0; tick < 30 * TICKS_PER_SECOND; tick++) {
+            for (Voter p : spammers) {
+                Vote v = sim.random().nextBoolean() ? Vote.OK : Vote.WAIT;
+                if (sim.vote(p, v) == VoteGate.Decision.ACCEPT) expected.put(p.id(), v);
+                else dropped++;
+            }
+            SessionSimulator.TickStats one = sim.run(1);
+            total = total == null ? one : sum(total, one);
+        }
+        report(total.display("ok/wait spam", players) + " | dropped " + dropped);
+
+        SessionSnapshot s = sim.snapshot();
+        assertEquals(SessionPhase.PAUSED, s.phase());
+        assertEquals(20, s.remainingSeconds(), "no second may pass while someone holds");
+        assertFalse(s.rebootCommitted());
+        assertEquals(count(expected, Vote.OK), s.okVotes());
+        assertEquals(count(expected, Vote.WAIT), s.waitVotes());
+        assertEquals(players, s.voters());
+        assertTrue(sim.server.tasksScheduled() <= 2, "countdown plus one hold reminder, however much spam");
+        assertTrue(dropped > 0, "the vote gate should have dropped repeats and throttled spammers");
+
+        // Everyone agrees: commits exactly once, through the delayed task.
+        for (Voter p : online) {
+            if (expected.get(p.id()) != Vote.OK) sim.handleVote(p, Vote.OK);
+        }
+        sim.run(TICKS_PER_SECOND);
+        s = sim.snapshot();
+        assertTrue(s.rebootCommitted() && s.rebootScheduled() && s.rebootTriggered());
+        assertEquals(1, sim.commitCalls);
+        assertEquals(1, sim.rebootActions);
+        assertTrue(sim.server.eventCount(EventBus.Kind.PAUSE) >= 2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000, 10_000})
+    void joinQuitChurnKeepsVotersInStepWithTheServer(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        sim.populate(players);
+        sim.start(45, 15, true);
+
+        Map<UUID, Vote> expected = new HashMap<>();
+        int churn = Math.max(1, players / 100);
+        SessionSimulator.TickStats total = null;
+        for (int tick = 0; tick < 15 * TICKS_PER_SECOND; tick++) {
+            for (int i = 0; i < churn; i++) {
+                Voter gone = sim.randomOnline();
+                expected.remove(gone.id());
+                sim.quit(gone);
+                sim.join();
+
+                Voter voter = sim.randomOnline();
+                Vote v = sim.random().nextInt(4) == 0 ? Vote.WAIT : Vote.OK;
+                if (sim.vote(voter, v) == VoteGate.Decision.ACCEPT) expected.put(voter.id(), v);
+            }
+            SessionSimulator.TickStats one = sim.run(1);
+            total = total == null ? one : sum(total, one);
+            if (!sim.session.isActive()) break; // everyone happened to agree
+        }
+        report(total.display("join/quit churn", players));
+
+        SessionSnapshot s = sim.snapshot();
+        if (s.phase() == SessionPhase.COMMITTED) {
+            assertEquals(1, sim.commitCalls); // everyone online happened to agree
+            return;
+        }
+        assertEquals(sim.server.onlineCount(), s.voters());
+        assertEquals(count(expected, Vote.OK), s.okVotes());
+        assertEquals(count(expected, Vote.WAIT), s.waitVotes());
+        assertEquals(s.waitVotes(), s.holders().size());
+
+        sim.cancel();
+        s = sim.snapshot();
+        assertEquals(SessionPhase.CANCELED, s.phase());
+        assertFalse(s.rebootCommitted() || s.rebootScheduled() || s.rebootTriggered());
+        assertEquals(0, sim.commitCalls);
+        assertEquals(0, sim.server.pendingTasks());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 10_000})
+    void cancelThenForceCommitsAndRebootsOnce(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        List<Voter> online = sim.populate(players);
+        sim.start(60, 15, true);
+        sim.vote(online.get(0), Vote.WAIT);
+        sim.run(5 * TICKS_PER_SECOND);
+
+        int told = FakePlayer.of(online.get(players - 1)).messages;
+        sim.cancel();
+        SessionSnapshot canceled = sim.snapshot();
+        assertEquals(SessionPhase.CANCELED, canceled.phase());
+        assertEquals(told + 1, FakePlayer.of(online.get(players - 1)).messages, "everyone hears the cancel");
+        assertEquals(0, sim.server.pendingTasks());
+        assertEquals(1, sim.audits.size());
+
+        assertEquals(SessionController.Force.EPHEMERAL, sim.force());
+        assertEquals(SessionController.Force.UNDER_WAY, sim.force(), "a second force is refused before reaching any session");
+        sim.run(2 * TICKS_PER_SECOND);
+
+        assertFalse(canceled.rebootCommitted(), "the canceled session stays canceled");
+        assertEquals(1, sim.commitCalls);
+        assertEquals(CommitReason.FORCED, sim.lastCommitReason);
+        assertEquals(1, sim.rebootActions);
+        assertEquals(0, sim.latchRejections());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 10_000})
+    void forceDuringTheAllOkDelayRunsTheRebootActionOnce(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        List<Voter> online = sim.populate(players);
+        sim.start(60, 15, true);
+        for (Voter p : online) sim.vote(p, Vote.OK);
+        assertTrue(sim.snapshot().rebootScheduled());
+
+        assertEquals(SessionController.Force.EPHEMERAL, sim.force(), "the live session is already inactive");
+        sim.run(2 * TICKS_PER_SECOND); // the all-OK delayed task fires too
+
+        SessionSnapshot s = sim.snapshot();
+        assertTrue(s.rebootCommitted() && s.rebootScheduled() && s.rebootTriggered());
+        assertEquals(1, sim.rebootActions);
+        assertEquals(1, sim.server.shutdownRequests());
+        assertEquals(1, sim.commitCalls, "the forced commit must not dump, capture or arm a second time");
+        assertEquals(2, sim.latchRejections(), "the forced commit and the delayed all-OK reboot both hit the shared latches");
+        assertEquals(CommitReason.ALL_OK, sim.lastCommitReason);
+        assertEquals(1, sim.server.eventCount(EventBus.Kind.COMMIT));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000})
+    void forceAfterTheAllOkRebootRanIsRefused(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        List<Voter> online = sim.populate(players);
+        sim.start(60, 15, false);
+        for (Voter p : online) sim.vote(p, Vote.OK);
+        sim.run(2 * TICKS_PER_SECOND); // the delayed all-OK reboot goes first this time
+
+        assertEquals(SessionController.Force.UNDER_WAY, sim.force());
+        sim.run(2 * TICKS_PER_SECOND);
+
+        assertEquals(1, sim.commitCalls);
+        assertEquals(CommitReason.ALL_OK, sim.lastCommitReason);
+        assertEquals(1, sim.rebootActions);
+        assertEquals(0, sim.latchRejections(), "the force never reached a session");
+        assertEquals(1, sim.server.shutdownRequests());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000})
+    void consecutiveCommandModeSessionsEachReboot(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        sim.rebootCommandMode = true;
+        List<Voter> online = sim.populate(players);
+
+        for (int cycle = 1; cycle <= 2; cycle++) {
+            sim.start(60, 15, false);
+            for (Voter p : online) sim.vote(p, Vote.OK);
+            assertNull(sim.controller.start(60, 15, false), "no session starts during the all-OK delay");
+            sim.run(2 * TICKS_PER_SECOND);
+
+            assertEquals(cycle, sim.commitCalls, "cycle " + cycle + " reached the commit side effects");
+            assertEquals(cycle, sim.rebootActions, "cycle " + cycle + " ran the reboot command");
+            assertEquals(0, sim.latchRejections());
+        }
+        assertEquals(2, sim.server.eventCount(EventBus.Kind.COMMIT));
+        assertEquals(0, sim.server.shutdownRequests(), "the command left the process up");
+
+        // Without a session the last reboot still counts; the next start clears it.
+        assertEquals(SessionController.Force.UNDER_WAY, sim.force());
+        sim.start(60, 15, false);
+        assertEquals(SessionController.Force.SESSION, sim.force());
+        assertEquals(3, sim.commitCalls);
+        assertEquals(CommitReason.FORCED, sim.lastCommitReason);
+        assertEquals(3, sim.rebootActions);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000})
+    void voteDroppedWhileAwayDoesNotCountAsTheRejoinedPlayersVote(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        List<Voter> online = sim.populate(players);
+        sim.start(600, 15, false);
+
+        Voter leaver = online.get(0);
+        sim.quit(leaver);
+        assertTrue(sim.admitVote(leaver, Vote.OK), "chat thread admitted the vote after the quit");
+        sim.handleVote(leaver, Vote.OK); // main thread: the player is gone, the vote is dropped
+
+        Voter back = sim.rejoin(leaver);
+        for (Voter p : online.subList(1, players)) sim.vote(p, Vote.OK);
+        assertFalse(sim.snapshot().rebootCommitted(), "the rejoined player has not voted yet");
+
+        assertEquals(VoteGate.Decision.ACCEPT, sim.vote(back, Vote.OK));
+        assertEquals(VoteGate.Decision.DUPLICATE, sim.vote(back, Vote.OK));
+        assertTrue(sim.snapshot().rebootCommitted());
+        assertEquals(CommitReason.ALL_OK, sim.lastCommitReason);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000, 10_000})
+    void quietTicksCostTheSameAtAnyPopulation(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        sim.populate(players);
+        sim.server.setListening(false);
+        sim.start(3600, 0, false); // no callouts, no bar: nothing to broadcast
+
+        sim.run(5 * TICKS_PER_SECOND); // warm-up
+        SessionSimulator.TickStats stats = sim.run(60 * TICKS_PER_SECOND);
+        report(stats.display("quiet ticks", players));
+
+        assertEquals(0, stats.tasksScheduled());
+        // One snapshot per tick; a per-player copy at 10,000 would be ~100 KiB.
+        assertTrue(stats.bytesPerTick() < 2048, "allocated " + stats.bytesPerTick() + " B per quiet tick");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 10_000})
+    void broadcastsRenderOncePerLocaleAndReachEveryone(int players) {
+        SessionSimulator sim = new SessionSimulator(players);
+        List<Voter> online = sim.populate(players);
+        sim.start(60, 15, true);
+
+        for (Voter p : online) {
+            FakePlayer fp = FakePlayer.of(p);
+            assertEquals(1, fp.messages, "start broadcast");
+            assertEquals(1, fp.bossBars.size());
+        }
+        assertEquals(1, sim.server.consoleMessages());
+
+        Voter german = online.get(1);
+        assertTrue(plain(FakePlayer.of(german).lastMessage).startsWith("[de]"));
+        assertFalse(plain(FakePlayer.of(online.get(0)).lastMessage).startsWith("["));
+
+        sim.cancel();
+        for (Voter p : online) assertTrue(FakePlayer.of(p).bossBars.isEmpty(), "bar hidden on cancel");
+    }
+
+    /* -------------------------------------------------------------------------
+     * Helpers
+     * ---------------------------------------------------------------------- */
+
+    private static String plain(Component c) {
+        return PlainTextComponentSerializer.plainText().serialize(c);
+    }
+
+    private static long count(Map<UUID, Vote> votes, Vote v) {
+        return votes.values().stream().filter(x -> x == v).count();
+    }
+
+    private static SessionSimulator.TickStats sum(SessionSimulator.TickStats a, SessionSimulator.TickStats b) {
+        return new SessionSimulator.TickStats(a.ticks() + b.ticks(), a.totalNanos() + b.totalNanos(),
+                Math.max(a.maxNanos(), b.maxNanos()), a.allocatedBytes() + b.allocatedBytes(),
+                a.tasksScheduled() + b.tasksScheduled());
+    }
+
+    private static void report(String line) {
+        System.out.println("[sim] " + line);
+    }
+}
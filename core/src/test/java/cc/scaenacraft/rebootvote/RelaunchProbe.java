@@ -0,0 +1,51 @@
+// core/src/test/java/cc/scaenacraft/rebootvote/RelaunchProbe.java
+package cc.scaenacraft.rebootvote;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Logger;
+
+/**
+ * Child JVM for {@link ProcessRelauncherTest}:
+ * {@code <timings file> <release> <max wait ms> <save ms>}.
+ *
+ * The first generation arms a relaunch and then exits the way Paper does. A "server thread"
+ * (optionally) releases the relauncher as onDisable would. With {@code save ms} 0 it then
+ * calls System.exit itself, so it is still alive while the shutdown hooks run. Otherwise the
+ * exit comes from elsewhere (a signal) right away, and the server thread goes on saving
+ * worlds for {@code save ms} before it ends. The relaunched generation writes its timings to
+ * the file and stops.
+ */
+final class RelaunchProbe {
+
+    public static void main(String[] args) throws Exception {
+        Path out = Path.of(args[0]);
+        boolean release = Boolean.parseBoolean(args[1]);
+        long maxWaitMs = Long.parseLong(args[2]);
+        long saveMs = Long.parseLong(args[3]);
+
+        ProcessRelauncher.Timings t = ProcessRelauncher.takeTimings();
+        if (t != null) {
+            Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+            Files.writeString(tmp, t.waitedForShutdownMs() + " " + t.spawnToJvmStartMs() + " " + t.spawnToNowMs());
+            Files.move(tmp, out, StandardCopyOption.ATOMIC_MOVE);
+            return;
+        }
+
+        ProcessRelauncher relauncher = ProcessRelauncher.capture(Logger.getLogger("RelaunchProbe"));
+        Thread server = new Thread(() -> {
+            if (release) relauncher.pluginDisabled();
+            if (saveMs == 0L) System.exit(0);
+            try {
+                Thread.sleep(saveMs); // World.save
+            } catch (InterruptedException ignored) {
+                // the JVM is going down either way
+            }
+        }, "Server thread");
+        if (relauncher == null || !relauncher.arm(server, maxWaitMs)) System.exit(2);
+
+        server.start();
+        if (saveMs > 0L) System.exit(0);
+    }
+}
@@ -0,0 +1,276 @@
+// core/src/test/java/cc/scaenacraft/rebootvote/SessionSimulator.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.platform.Sender;
+import cc.scaenacraft.rebootvote.platform.Voter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Drives a {@link SessionController} on a {@link FakeServer}, standing in for the plugin as
+ * its owner: the controller runs the same session, vote gate, latch and force code as in
+ * production, and this class records what reaches the owner.
+ *
+ * Settings come from the bundled config.yml, with German and French template variants added
+ * so broadcasts render per locale. Owner thread only.
+ */
+final class SessionSimulator implements SessionHost, VoteIngress {
+
+    static final Locale[] LOCALES = {Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.UK};
+
+    /** Main-thread cost of a run of ticks, measured around {@link FakeServer#tick()}. */
+    record TickStats(int ticks, long totalNanos, long maxNanos, long allocatedBytes, long tasksScheduled) {
+
+        double avgMicros() {
+            return ticks == 0 ? 0.0 : totalNanos / 1000.0 / ticks;
+        }
+
+        double maxMicros() {
+            return maxNanos / 1000.0;
+        }
+
+        long bytesPerTick() {
+            return ticks == 0 ? 0L : allocatedBytes / ticks;
+        }
+
+        String display(String label, int players) {
+            return String.format(Locale.ROOT, "%-28s players %6d | ticks %5d | avg %8.1fus | max %8.1fus | %7d B/tick | tasks %d",
+                    label, players, ticks, avgMicros(), maxMicros(), bytesPerTick(), tasksScheduled);
+        }
+    }
+
+    /* Parsed once; settings are immutable and the YAML load dominates a small simulator's setup. */
+    private static final RebootVoteSettings SETTINGS = RebootVoteSettings.from(config(), null);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    final FakeServer server = new FakeServer();
+    final RebootVoteSettings settings;
+    final MessageService messages;
+    final SessionController controller;
+    final Sender console;
+    private final Random random;
+
+    /** The session the last {@link #start} made. */
+    RebootSession session;
+    private int nextPlayer = 0;
+    /** Online players in join order (swap-removed on quit), for cheap random picks. */
+    private final List<Voter> online = new ArrayList<>();
+    private final Map<UUID, Integer> onlineIndex = new HashMap<>();
+
+    /* What got past the controller's latches to the owner. */
+    int commitCalls = 0;
+    CommitReason lastCommitReason;
+    int rebootActions = 0;
+    final List<AuditLog.Entry> audits = new ArrayList<>();
+
+    /** COMMAND-mode reboots: the action dispatches a command and this process stays up. */
+    boolean rebootCommandMode = false;
+
+    SessionSimulator(long seed) {
+        this.random = new Random(seed);
+        this.settings = SETTINGS;
+        this.messages = new MessageService(Logger.getLogger("RebootVote-sim"), server.platform(), null, this);
+        this.messages.reloadPalette(settings);
+        this.controller = new SessionController(this, server.platform(), messages, () -> settings, () -> null,
+                Logger.getLogger("RebootVote-sim"));
+        this.console = new FakePlayer(new UUID(0L, 1L), "CONSOLE", Locale.US).as(Sender.class);
+    }
+
+    private static Config config() {
+        try (InputStream in = SessionSimulator.class.getResourceAsStream("/config.yml")) {
+            if (in == null) throw new IllegalStateException("config.yml not on the classpath");
+            Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+            Config cfg = Config.load(reader);
+            for (String locale : List.of("de", "fr")) {
+                for (String key : List.of("start_templates", "callout_templates", "all_ok_templates", "canceled_templates")) {
+                    List<String> localized = new ArrayList<>();
+                    for (String t : cfg.getStringList("messages." + key)) localized.add("[" + locale + "] " + t);
+                    cfg.set("messages." + locale + "." + key, localized);
+                }
+            }
+            return cfg;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /* -------------------------------------------------------------------------
+     * Population
+     * ---------------------------------------------------------------------- */
+
+    /** Joins {@code n} players spread over {@link #LOCALES}. */
+    List<Voter> populate(int n) {
+        List<Voter> joined = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) joined.add(join());
+        return joined;
+    }
+
+    Voter join() {
+        int i = nextPlayer++;
+        return added(server.join("player" + i, LOCALES[i % LOCALES.length]));
+    }
+
+    /** {@code gone} (offline) comes back under the same id. */
+    Voter rejoin(Voter gone) {
+        return added(server.join(gone.id(), gone.name(), gone.locale()));
+    }
+
+    private Voter added(Voter p) {
+        onlineIndex.put(p.id(), online.size());
+        online.add(p);
+
+        controller.handleJoin(p);
+        return p;
+    }
+
+    void quit(Voter p) {
+        server.quit(p);
+        int i = onlineIndex.remove(p.id());
+        Voter last = online.remove(online.size() - 1);
+        if (last != p) {
+            online.set(i, last);
+            onlineIndex.put(last.id(), i);
+        }
+        controller.handleQuit(p);
+    }
+
+    Voter randomOnline() {
+        return online.get(random.nextInt(online.size()));
+    }
+
+    Random random() {
+        return random;
+    }
+
+    /* -------------------------------------------------------------------------
+     * Commands and votes
+     * ---------------------------------------------------------------------- */
+
+    /** /rebootvote start; {@code calloutSeconds} 0 turns chat callouts off. */
+    RebootSession start(int seconds, int calloutSeconds, boolean bossBar) {
+        RebootSession started = controller.start(seconds, calloutSeconds, bossBar);
+        if (started == null) throw new IllegalStateException("a session is already running");
+        session = started;
+        return started;
+    }
+
+    /** A vote from chat/buttons: admitted by the gate, then applied (same tick here). */
+    VoteGate.Decision vote(Voter p, Vote vote) {
+        VoteGate.Decision d = controller.admit(p, vote);
+        if (d == VoteGate.Decision.ACCEPT) controller.handleVote(p, vote);
+        return d;
+    }
+
+    @Override
+    public boolean admitVote(Voter player, Vote vote) {
+        return controller.admitVote(player, vote);
+    }
+
+    @Override
+    public void handleVote(Voter player, Vote vote) {
+        controller.handleVote(player, vote);
+    }
+
+    /** False if no session was running. */
+    boolean cancel() {
+        return controller.cancel(console);
+    }
+
+    SessionController.Force force() {
+        return controller.force(console);
+    }
+
+    SessionSnapshot snapshot() {
+        return session.snapshot();
+    }
+
+    /** Latch rejections seen by the controller, counted on the live (or last) session's metrics. */
+    long latchRejections() {
+        return controller.lastMetrics().latchRejections();
+    }
+
+    /* -------------------------------------------------------------------------
+     * Measurement
+     * ---------------------------------------------------------------------- */
+
+    /** Runs {@code ticks} ticks, timing each and counting what the main thread allocated. */
+    TickStats run(int ticks) {
+        long tasksBefore = server.tasksScheduled();
+        long total = 0L;
+        long max = 0L;
+        long allocBefore = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ticks; i++) {
+            long t = System.nanoTime();
+            server.tick();
+            long took = System.nanoTime() - t;
+            total += took;
+            if (took > max) max = took;
+        }
+        long alloc = THREADS.getCurrentThreadAllocatedBytes() - allocBefore;
+        return new TickStats(ticks, total, max, alloc, server.tasksScheduled() - tasksBefore);
+    }
+
+    /* -------------------------------------------------------------------------
+     * SessionHost
+     * ---------------------------------------------------------------------- */
+
+    @Override
+    public TraceRecorder trace() {
+        return null;
+    }
+
+    @Override
+    public boolean noteRebootCommitted(CommitReason reason, SessionSnapshot snapshot) {
+        commitCalls++;
+        lastCommitReason = reason;
+        return true;
+    }
+
+    /** A SHUTDOWN-mode reboot action, or a COMMAND-mode one that leaves the process up. */
+    @Override
+    public void executeRebootAction() {
+        rebootActions++;
+        if (!rebootCommandMode) server.shutdown();
+    }
+
+    @Override
+    public void auditSession(AuditLog.Entry entry) {
+        audits.add(entry);
+    }
+
+    @Override
+    public void exportSessionTrace() {
+    }
+
+    @Override
+    public void onSessionEnded(RebootSession ended) {
+    }
+
+    @Override
+    public String getLastRebootSecondsDisplay() {
+        return "12.3";
+    }
+
+    @Override
+    public String getAvgRebootSecondsDisplay() {
+        return "14.0";
+    }
+}
@@ -0,0 +1,174 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/ChunkWarmup.java
+package cc.scaenacraft.rebootvote;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+
+/**
+ * Post-reboot chunk warm-up.
+ *
+ * At commit time the chunks players stand in are saved (see {@link #capture()}). On the next
+ * enable those chunks and a small radius around them are loaded with Paper's async chunk
+ * loading, densest areas first, a few requests per tick with a cap on requests in flight.
+ * Loaded chunks get a plugin chunk ticket for {@code holdSeconds} so they are still there
+ * when the players come back; existing chunks only (nothing is generated).
+ *
+ * Main thread only.
+ */
+final class ChunkWarmup {
+
+    private record Target(String world, int x, int z, int weight) {}
+
+    private record ChunkKey(String world, int x, int z) {}
+
+    private final JavaPlugin plugin;
+    private final RebootVoteSettings.WarmupSettings settings;
+
+    private final ArrayDeque<Target> queue = new ArrayDeque<>();
+    private final List<Target> ticketed = new ArrayList<>();
+    private int inFlight = 0;
+    private int loaded = 0;
+    private int failed = 0;
+    private int total = 0;
+
+    private long startedNanos;
+    private BukkitTask task;
+    private Runnable onFinish;
+
+    /** Set by {@link #stop()}; loads completing after that must not add tickets. */
+    private boolean stopped = false;
+
+    /** Last result for /rebootvote stats; null if no warm-up ran this boot. */
+    private volatile String summary;
+
+    ChunkWarmup(JavaPlugin plugin, RebootVoteSettings.WarmupSettings settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+    }
+
+    /**
+     * Online players' chunks, aggregated: "chunkX,chunkZ,players,world". The world name goes
+     * last so the commas it may contain survive the split.
+     */
+    static List<String> capture() {
+        Map<ChunkKey, Integer> counts = new LinkedHashMap<>();
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            var loc = p.getLocation();
+            counts.merge(new ChunkKey(loc.getWorld().getName(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4), 1, Integer::sum);
+        }
+
+        List<String> out = new ArrayList<>(counts.size());
+        counts.forEach((key, n) -> out.add(key.x() + "," + key.z() + "," + n + "," + key.world()));
+        return out;
+    }
+
+    /** Queues the warm-up; {@code onFinish} runs on the main thread once it is done (or right away if there is nothing to load). */
+    void start(List<String> saved, Runnable onFinish) {
+        this.onFinish = onFinish;
+        // Weight every chunk in the radius by the players around it; centers count double.
+        Map<ChunkKey, Integer> weights = new HashMap<>();
+        int r = settings.radius();
+        for (String line : saved) {
+            String[] f = line.split(",", 4);
+            if (f.length != 4 || f[3].isEmpty()) continue;
+            try {
+                int cx = Integer.parseInt(f[0]);
+                int cz = Integer.parseInt(f[1]);
+                int players = Integer.parseInt(f[2]);
+                for (int dx = -r; dx <= r; dx++) {
+                    for (int dz = -r; dz <= r; dz++) {
+                        int w = (dx == 0 && dz == 0) ? players * 2 : players;
+                        weights.merge(new ChunkKey(f[3], cx + dx, cz + dz), w, Integer::sum);
+                    }
+                }
+            } catch (NumberFormatException ignored) {
+                // skip a damaged entry (or one in the old world-first format)
+            }
+        }
+
+        List<Target> targets = new ArrayList<>(weights.size());
+        weights.forEach((key, w) -> targets.add(new Target(key.world(), key.x(), key.z(), w)));
+        targets.sort(Comparator.comparingInt(Target::weight).reversed());
+        if (targets.size() > settings.maxChunks()) targets.subList(settings.maxChunks(), targets.size()).clear();
+
+        if (targets.isEmpty()) {
+            onFinish.run();
+            return;
+        }
+
+        queue.addAll(targets);
+        total = targets.size();
+        startedNanos = System.nanoTime();
+        summary = "running (" + total + " chunks queued)";
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::pump, 1L, 1L);
+    }
+
+    private void pump() {
+        int budget = settings.perTick();
+        while (budget-- > 0 && inFlight < settings.maxInFlight() && !queue.isEmpty()) {
+            Target t = queue.poll();
+            World world = Bukkit.getWorld(t.world());
+            if (world == null) {
+                failed++;
+                continue;
+            }
+
+            inFlight++;
+            world.getChunkAtAsync(t.x(), t.z(), false).whenComplete((chunk, ex) -> onLoaded(world, t, chunk, ex));
+        }
+
+        if (queue.isEmpty() && inFlight == 0) finish();
+    }
+
+    // Paper completes these futures on the main thread, possibly after stop() or plugin disable.
+    private void onLoaded(World world, Target t, Chunk chunk, Throwable ex) {
+        inFlight--;
+        if (stopped) return; // a ticket added now would never be released
+        if (ex != null || chunk == null) {
+            failed++; // never generated, or the load failed
+            return;
+        }
+        loaded++;
+        if (world.addPluginChunkTicket(t.x(), t.z(), plugin)) ticketed.add(t);
+    }
+
+    private void finish() {
+        task.cancel();
+        task = null;
+
+        double ms = (System.nanoTime() - startedNanos) / 1_000_000.0;
+        summary = String.format(Locale.ROOT, "%d/%d chunks in %.0f ms (%d skipped)", loaded, total, ms, failed);
+        plugin.getLogger().info("Chunk warm-up finished: " + summary + ".");
+
+        Bukkit.getScheduler().runTaskLater(plugin, this::releaseTickets, settings.holdSeconds() * 20L);
+        onFinish.run();
+    }
+
+    void stop() {
+        stopped = true;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queue.clear();
+        releaseTickets();
+    }
+
+    private void releaseTickets() {
+        for (Target t : ticketed) {
+            World world = Bukkit.getWorld(t.world());
+            if (world != null) world.removePluginChunkTicket(t.x(), t.z(), plugin);
+        }
+        ticketed.clear();
+    }
+
+    String summary() {
+        return summary;
+    }
+}
@@ -0,0 +1,89 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/ConfigWatcher.java
+package cc.scaenacraft.rebootvote;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+/**
+ * Optional file watcher that triggers an async settings reload when config.yml changes.
+ * Runs on its own daemon thread; bursts of modify events (editors often write twice) are debounced.
+ */
+final class ConfigWatcher {
+
+    private static final long DEBOUNCE_MS = 500L;
+
+    private final RebootVotePlugin plugin;
+    private final SettingsManager settings;
+    private final Path dir;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    ConfigWatcher(RebootVotePlugin plugin, SettingsManager settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+        this.dir = plugin.getDataFolder().toPath();
+    }
+
+    void start() {
+        if (thread != null) return;
+        try {
+            watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException ex) {
+            plugin.getLogger().warning("Config file watcher unavailable: " + ex.getMessage());
+            return;
+        }
+
+        thread = new Thread(this::run, "RebootVote-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        if (thread == null) return;
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+        thread = null;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+
+            boolean configTouched = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.context() instanceof Path p && p.getFileName().toString().equals("config.yml")) {
+                    configTouched = true;
+                }
+            }
+            if (!key.reset()) return;
+            if (!configTouched) continue;
+
+            try {
+                Thread.sleep(DEBOUNCE_MS);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            // Swallow the rest of the burst.
+            WatchKey extra = watchService.poll();
+            if (extra != null) {
+                extra.pollEvents();
+                extra.reset();
+            }
+
+            if (!plugin.isEnabled()) return;
+            settings.reloadAsync().thenAccept(changed ->
+                    plugin.getLogger().info("config.yml changed on disk; reloaded (changed sections: " + changed + ")."));
+        }
+    }
+}
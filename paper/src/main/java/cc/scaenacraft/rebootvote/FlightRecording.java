@@ -0,0 +1,249 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/FlightRecording.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import jdk.jfr.*;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Continuous low-overhead JFR recording, dumped when a reboot is committed.
+ *
+ * The recording uses the JDK's "default" settings (the always-on profile, around 1% overhead)
+ * bounded by max age and size, so the dump covers the minutes leading up to the reboot:
+ * usually the lag that started the vote. Each dump carries a {@link RebootCommitEvent} with
+ * the session state and is written to plugins/RebootVote/jfr/ (newest keep_files kept).
+ *
+ * A summary (hottest methods by execution samples, GC pause totals) is written next to each
+ * dump in the background; dumps taken right before a shutdown are summarized on the next boot.
+ * The shutdown never waits for a dump: one still being written when the JVM exits is cut
+ * short (and fails its summary).
+ */
+final class FlightRecording {
+
+    private static final String PREFIX = "reboot-";
+    private static final String SUFFIX = ".jfr";
+    private static final String SUMMARY_SUFFIX = ".summary.txt";
+
+    private static final int TOP_METHODS = 15;
+
+    /** Session metadata recorded into the dump right before it is written. */
+    @Name("cc.scaenacraft.rebootvote.RebootCommit")
+    @Label("RebootVote Commit")
+    @Category("RebootVote")
+    @Description("A reboot was committed; this recording was dumped for it.")
+    static final class RebootCommitEvent extends Event {
+        @Label("Reason") String reason;
+        @Label("Countdown Seconds") int countdownSeconds;
+        @Label("Remaining Seconds") int remainingSeconds;
+        @Label("Online At Start") int onlineAtStart;
+        @Label("Voters") int voters;
+        @Label("OK Votes") int okVotes;
+        @Label("WAIT Votes") int waitVotes;
+        @Label("Idle") int idle;
+        @Label("Average MSPT") double mspt;
+    }
+
+    private final JavaPlugin plugin;
+    private final RebootVoteSettings.JfrSettings settings;
+    private final Path dir;
+
+    private Recording recording;
+    private Thread dumpThread;
+    /** Set by {@link #stop()} during a dump; the dump thread closes the recording when done. */
+    private boolean closeAfterDump;
+
+    FlightRecording(JavaPlugin plugin, RebootVoteSettings.JfrSettings settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+        this.dir = plugin.getDataFolder().toPath().resolve("jfr");
+    }
+
+    /** Starts the continuous recording; safe off the main thread. */
+    synchronized void start() {
+        if (recording != null) return;
+        try {
+            Recording r = new Recording(Configuration.getConfiguration("default"));
+            r.setName("RebootVote");
+            r.setToDisk(true);
+            r.setMaxAge(Duration.ofMinutes(settings.maxAgeMinutes()));
+            r.setMaxSize(settings.maxSizeMb() * 1024L * 1024L);
+            r.enable(RebootCommitEvent.class);
+            r.start();
+            recording = r;
+        } catch (IOException | ParseException | RuntimeException ex) {
+            plugin.getLogger().warning("JFR recording unavailable: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Records the commit event and dumps the recording on a background thread. Main thread;
+     * {@code mspt} is the server's average tick time at commit.
+     */
+    synchronized void dumpForCommit(CommitReason reason, SessionSnapshot s, double mspt) {
+        if (recording == null || dumpThread != null) return;
+
+        RebootCommitEvent e = new RebootCommitEvent();
+        e.reason = reason.name();
+        e.countdownSeconds = s.totalSeconds();
+        e.remainingSeconds = s.remainingSeconds();
+        e.onlineAtStart = s.onlineAtStart();
+        e.voters = s.voters();
+        e.okVotes = s.okVotes();
+        e.waitVotes = s.waitVotes();
+        e.idle = s.idle();
+        e.mspt = mspt;
+        e.commit();
+
+        Path file = dir.resolve(PREFIX + TraceRecorder.fileStamp(System.currentTimeMillis())
+                + "-" + reason.name().toLowerCase(Locale.ROOT) + SUFFIX);
+        Recording r = recording;
+        dumpThread = new Thread(() -> dump(r, file), "RebootVote-jfr-dump");
+        dumpThread.setDaemon(true);
+        dumpThread.start();
+    }
+
+    private void dump(Recording r, Path file) {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(dir);
+            r.dump(file);
+            plugin.getLogger().info("JFR snapshot written to " + file.getFileName()
+                    + " (" + (System.nanoTime() - start) / 1_000_000L + " ms).");
+            prune();
+        } catch (IOException | RuntimeException ex) {
+            plugin.getLogger().warning("JFR dump failed: " + ex.getMessage());
+        } finally {
+            synchronized (this) {
+                if (closeAfterDump && recording == r) {
+                    r.close();
+                    recording = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the recording without waiting. A dump in progress keeps the recording open and
+     * closes it when done, if the JVM is still running by then. onDisable.
+     */
+    synchronized void stop() {
+        if (recording == null) return;
+        if (dumpThread != null && dumpThread.isAlive()) {
+            closeAfterDump = true;
+            plugin.getLogger().warning("JFR dump still running at shutdown; it may be incomplete.");
+            return;
+        }
+        recording.close();
+        recording = null;
+    }
+
+    /* -------------------------------------------------------------------------
+     * Summaries
+     * ---------------------------------------------------------------------- */
+
+    /** Writes a summary for every dump that does not have one yet. Off the main thread. */
+    void summarizePending() {
+        for (Path jfr : list()) {
+            Path summary = jfr.resolveSibling(jfr.getFileName().toString().replace(SUFFIX, SUMMARY_SUFFIX));
+            if (Files.exists(summary)) continue;
+            try {
+                Files.writeString(summary, summarize(jfr), StandardCharsets.UTF_8);
+                plugin.getLogger().info("JFR summary written: " + summary.getFileName());
+            } catch (IOException | RuntimeException ex) {
+                plugin.getLogger().warning("Could not summarize " + jfr.getFileName() + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private static String summarize(Path jfr) throws IOException {
+        Map<String, Integer> topFrames = new HashMap<>();
+        int samples = 0;
+        int gcs = 0;
+        long gcPauseTotalNs = 0L;
+        long gcPauseMaxNs = 0L;
+        RecordedEvent commit = null;
+
+        try (RecordingFile in = new RecordingFile(jfr)) {
+            while (in.hasMoreEvents()) {
+                RecordedEvent e = in.readEvent();
+                switch (e.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        RecordedStackTrace st = e.getStackTrace();
+                        if (st == null || st.getFrames().isEmpty()) continue;
+                        RecordedFrame top = st.getFrames().get(0);
+                        topFrames.merge(top.getMethod().getType().getName() + "." + top.getMethod().getName(), 1, Integer::sum);
+                        samples++;
+                    }
+                    case "jdk.GarbageCollection" -> {
+                        gcs++;
+                        long pause = e.getDuration("sumOfPauses").toNanos();
+                        gcPauseTotalNs += pause;
+                        gcPauseMaxNs = Math.max(gcPauseMaxNs, e.getDuration("longestPause").toNanos());
+                    }
+                    case "cc.scaenacraft.rebootvote.RebootCommit" -> commit = e;
+                    default -> { }
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("RebootVote JFR summary: ").append(jfr.getFileName()).append('\n');
+        if (commit != null) {
+            sb.append(String.format(Locale.ROOT, "Commit: %s, countdown %ds (%ds left), online at start %d, voters %d (ok %d, wait %d, idle %d), mspt %.1f%n",
+                    commit.getString("reason"), commit.getInt("countdownSeconds"), commit.getInt("remainingSeconds"),
+                    commit.getInt("onlineAtStart"), commit.getInt("voters"), commit.getInt("okVotes"),
+                    commit.getInt("waitVotes"), commit.getInt("idle"), commit.getDouble("mspt")));
+        }
+        sb.append(String.format(Locale.ROOT, "GC: %d collections, %.1f ms paused in total, longest pause %.1f ms%n",
+                gcs, gcPauseTotalNs / 1e6, gcPauseMaxNs / 1e6));
+
+        sb.append("Hot methods (top frame of ").append(samples).append(" execution samples):\n");
+        List<Map.Entry<String, Integer>> hot = new ArrayList<>(topFrames.entrySet());
+        hot.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        for (int i = 0; i < Math.min(TOP_METHODS, hot.size()); i++) {
+            var e = hot.get(i);
+            sb.append(String.format(Locale.ROOT, "  %5.1f%%  %s%n", 100.0 * e.getValue() / samples, e.getKey()));
+        }
+        return sb.toString();
+    }
+
+    private void prune() {
+        List<Path> files = list();
+        for (int i = 0; i < files.size() - settings.keepFiles(); i++) {
+            Path jfr = files.get(i);
+            try {
+                Files.deleteIfExists(jfr);
+                Files.deleteIfExists(jfr.resolveSibling(jfr.getFileName().toString().replace(SUFFIX, SUMMARY_SUFFIX)));
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+    }
+
+    /** Dumps, oldest first (timestamped names). */
+    private List<Path> list() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return files;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            ds.forEach(files::add);
+        } catch (IOException ex) {
+            return files;
+        }
+        files.sort(Comparator.comparing(p -> p.getFileName().toString()));
+        return files;
+    }
+}
@@ -0,0 +1,222 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/HeapHistogram.java
+package cc.scaenacraft.rebootvote;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import javax.management.ObjectName;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Live-heap class histograms taken when a reboot is committed, for spotting what creeps.
+ *
+ * The histogram comes from the DiagnosticCommand MBean (gcClassHistogram, the same as
+ * {@code jcmd GC.class_histogram}; it includes a full GC, which is fine right before a
+ * shutdown). It runs on its own daemon thread and the shutdown never waits for it: a capture
+ * that has not finished when the JVM exits is dropped, and one that takes longer than the
+ * budget is discarded. The largest classes are kept as a small gzip TSV per reboot under
+ * plugins/RebootVote/histograms/ (uptime in the header).
+ *
+ * {@link #leaks} fits live bytes and instances against uptime across those files: a class
+ * whose size keeps rising with uptime from one cycle to the next is a leak suspect.
+ */
+final class HeapHistogram {
+
+    private static final String PREFIX = "histo-";
+    private static final String SUFFIX = ".tsv.gz";
+
+    /** Largest classes (by bytes) kept per snapshot. */
+    private static final int KEEP_CLASSES = 300;
+    /** Snapshots kept on disk (oldest deleted). */
+    private static final int KEEP_FILES = 20;
+
+    /** One class in one snapshot. */
+    private record Row(String className, long instances, long bytes) {}
+
+    private record Snapshot(long uptimeMs, Map<String, Row> rows) {}
+
+    /** A class whose live size grows with uptime. */
+    record Trend(String className, double bytesPerHour, double instancesPerHour, long lastBytes, int snapshots) {}
+
+    private final JavaPlugin plugin;
+    private final Path dir;
+    private final long budgetMs;
+
+    private Thread thread;
+    private long startedNanos;
+
+    HeapHistogram(JavaPlugin plugin, long budgetMs) {
+        this.plugin = plugin;
+        this.dir = directory(plugin);
+        this.budgetMs = budgetMs;
+    }
+
+    static Path directory(JavaPlugin plugin) {
+        return plugin.getDataFolder().toPath().resolve("histograms");
+    }
+
+    /** Starts the capture in the background; main thread. */
+    void start() {
+        if (thread != null) return;
+
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        startedNanos = System.nanoTime();
+        thread = new Thread(() -> capture(uptimeMs), "RebootVote-histogram");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void capture(long uptimeMs) {
+        String raw;
+        try {
+            raw = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "gcClassHistogram",
+                    new Object[]{new String[0]},
+                    new String[]{String[].class.getName()});
+        } catch (Exception ex) {
+            plugin.getLogger().warning("Heap histogram unavailable: " + ex.getMessage());
+            return;
+        }
+
+        long tookMs = (System.nanoTime() - startedNanos) / 1_000_000L;
+        if (tookMs > budgetMs) {
+            plugin.getLogger().warning("Heap histogram took " + tookMs + " ms (budget " + budgetMs + " ms); discarded.");
+            return;
+        }
+
+        List<Row> rows = parse(raw);
+        rows.sort(Comparator.comparingLong(Row::bytes).reversed());
+        if (rows.size() > KEEP_CLASSES) rows = rows.subList(0, KEEP_CLASSES);
+
+        try {
+            write(uptimeMs, rows);
+            plugin.getLogger().info("Heap histogram saved (" + rows.size() + " classes, " + tookMs + " ms).");
+        } catch (IOException ex) {
+            plugin.getLogger().warning("Could not save heap histogram: " + ex.getMessage());
+        }
+    }
+
+    // "   1:        123456       7890123  [B (java.base@21.0.2)"
+    private static List<Row> parse(String raw) {
+        List<Row> rows = new ArrayList<>();
+        for (String line : raw.split("\n")) {
+            String[] f = line.trim().split("\\s+");
+            if (f.length < 4 || !f[0].endsWith(":")) continue;
+            try {
+                rows.add(new Row(f[3], Long.parseLong(f[1]), Long.parseLong(f[2])));
+            } catch (NumberFormatException ignored) {
+                // header or total line
+            }
+        }
+        return rows;
+    }
+
+    private void write(long uptimeMs, List<Row> rows) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve(PREFIX + TraceRecorder.fileStamp(System.currentTimeMillis()) + SUFFIX);
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+            out.write("# uptime_ms=" + uptimeMs + "\n");
+            for (Row r : rows) {
+                out.write(r.className() + "\t" + r.instances() + "\t" + r.bytes() + "\n");
+            }
+        }
+
+        List<Path> files = list(dir);
+        for (int i = 0; i < files.size() - KEEP_FILES; i++) Files.deleteIfExists(files.get(i));
+    }
+
+    /* -------------------------------------------------------------------------
+     * Trend analysis
+     * ---------------------------------------------------------------------- */
+
+    /**
+     * Classes whose live bytes grow fastest with uptime across the stored snapshots, fastest
+     * first. Needs at least 3 snapshots with different uptimes; reads files, so call off the
+     * main thread.
+     */
+    static List<Trend> leaks(JavaPlugin plugin, int limit) throws IOException {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Path p : list(directory(plugin))) {
+            Snapshot s = read(p);
+            if (s != null) snapshots.add(s);
+        }
+        if (snapshots.size() < 3) return List.of();
+
+        Set<String> classes = new HashSet<>();
+        for (Snapshot s : snapshots) classes.addAll(s.rows().keySet());
+
+        List<Trend> trends = new ArrayList<>();
+        for (String cls : classes) {
+            // A class missing from a snapshot was below the kept top-N there; leave that point out.
+            List<double[]> points = new ArrayList<>();
+            long lastBytes = 0L;
+            for (Snapshot s : snapshots) {
+                Row r = s.rows().get(cls);
+                if (r == null) continue;
+                points.add(new double[]{s.uptimeMs() / 3_600_000.0, r.bytes(), r.instances()});
+                lastBytes = r.bytes();
+            }
+            if (points.size() < 3) continue;
+
+            double bytesPerHour = slope(points, 1);
+            if (Double.isNaN(bytesPerHour) || bytesPerHour <= 0) continue;
+            trends.add(new Trend(cls, bytesPerHour, slope(points, 2), lastBytes, points.size()));
+        }
+
+        trends.sort(Comparator.comparingDouble(Trend::bytesPerHour).reversed());
+        return trends.size() <= limit ? trends : trends.subList(0, limit);
+    }
+
+    /** Least-squares slope of column {@code y} against column 0; NaN if all x are equal. */
+    private static double slope(List<double[]> points, int y) {
+        double n = points.size();
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (double[] p : points) {
+            sx += p[0];
+            sy += p[y];
+            sxx += p[0] * p[0];
+            sxy += p[0] * p[y];
+        }
+        double den = n * sxx - sx * sx;
+        return den == 0 ? Double.NaN : (n * sxy - sx * sy) / den;
+    }
+
+    private static Snapshot read(Path file) {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String header = in.readLine();
+            if (header == null || !header.startsWith("# uptime_ms=")) return null;
+            long uptime = Long.parseLong(header.substring("# uptime_ms=".length()).trim());
+
+            Map<String, Row> rows = new HashMap<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] f = line.split("\t");
+                if (f.length != 3) continue;
+                rows.put(f[0], new Row(f[0], Long.parseLong(f[1]), Long.parseLong(f[2])));
+            }
+            return new Snapshot(uptime, rows);
+        } catch (IOException | RuntimeException ex) {
+            return null; // damaged file; skip it
+        }
+    }
+
+    /** Snapshot files, oldest first (timestamped names). */
+    private static List<Path> list(Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return files;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            ds.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(p -> p.getFileName().toString()));
+        return files;
+    }
+}
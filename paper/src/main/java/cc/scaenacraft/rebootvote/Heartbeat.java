@@ -0,0 +1,152 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/Heartbeat.java
+package cc.scaenacraft.rebootvote;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Liveness record for measuring downtime after crashes and kills, which never reach onDisable.
+ *
+ * A background thread stamps the time and the server tick into a small memory-mapped file
+ * once a second. The writes land in the page cache, so there is no syscall or disk I/O per
+ * beat, and the kernel still writes the page out if the JVM dies. A clean stop sets a flag;
+ * on the next start a file without it means the server went down unexpectedly, roughly at
+ * the last beat.
+ *
+ * Layout (big-endian longs): magic, last beat ms, tick, last tick advance ms, clean stop.
+ */
+final class Heartbeat {
+
+    static final String FILE_NAME = "heartbeat.bin";
+
+    private static final long MAGIC = 0x5256484231L; // "RVHB1"
+    private static final int SIZE = 40;
+    private static final int AT_BEAT = 8;
+    private static final int AT_TICK = 16;
+    private static final int AT_TICK_ADVANCE = 24;
+    private static final int AT_CLEAN = 32;
+
+    /** What the previous run left behind. */
+    record Previous(long lastBeatMs, long tick, long lastTickAdvanceMs, boolean cleanStop) {
+
+        /** How long the main thread had stopped ticking before the last beat (a hang before the crash). */
+        long frozenMs() {
+            return Math.max(0L, lastBeatMs - lastTickAdvanceMs);
+        }
+    }
+
+    private final JavaPlugin plugin;
+    private final Path file;
+
+    private MappedByteBuffer map;
+    private Thread thread;
+    private volatile boolean running = false;
+    private boolean stopped = false; // guarded by this; a stop before start wins
+
+    Heartbeat(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.file = file(plugin);
+    }
+
+    static Path file(JavaPlugin plugin) {
+        return plugin.getDataFolder().toPath().resolve(FILE_NAME);
+    }
+
+    /** The previous run's record, or null if there is none (or it is not ours). Read it before {@link #start()}. */
+    static Previous readPrevious(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < SIZE) return null;
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_ONLY, 0, SIZE);
+            if (b.getLong(0) != MAGIC) return null;
+            return new Previous(b.getLong(AT_BEAT), b.getLong(AT_TICK), b.getLong(AT_TICK_ADVANCE), b.getLong(AT_CLEAN) != 0L);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Marks an unclean record as counted, so it is not counted again if this run stops
+     * before its own heartbeat starts.
+     */
+    static void acknowledge(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(8).putLong(0, 1L), AT_CLEAN);
+        } catch (IOException ignored) {
+            // the next start overwrites it anyway
+        }
+    }
+
+    /** Maps the file and starts beating; any thread. */
+    synchronized void start() throws IOException {
+        if (stopped || map != null) return;
+
+        Files.createDirectories(file.getParent());
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            map = ch.map(FileChannel.MapMode.READ_WRITE, 0, SIZE); // stays valid after the channel closes
+        }
+
+        long now = System.currentTimeMillis();
+        map.putLong(AT_CLEAN, 0L);
+        map.putLong(AT_TICK, Bukkit.getCurrentTick());
+        map.putLong(AT_TICK_ADVANCE, now);
+        map.putLong(AT_BEAT, now);
+        map.putLong(0, MAGIC);
+        map.force(); // once, so a crash right after start is still recognized
+
+        running = true;
+        thread = new Thread(this::run, "RebootVote-heartbeat");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        long lastTick = map.getLong(AT_TICK);
+        while (running) {
+            try {
+                Thread.sleep(1000L);
+            } catch (InterruptedException ex) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            long tick = Bukkit.getCurrentTick(); // a plain field read; fine off the main thread
+            if (tick != lastTick) {
+                lastTick = tick;
+                map.putLong(AT_TICK, tick);
+                map.putLong(AT_TICK_ADVANCE, now);
+            }
+            map.putLong(AT_BEAT, now);
+        }
+    }
+
+    /** Marks a clean stop; call from onDisable. */
+    synchronized void stop() {
+        stopped = true;
+        running = false;
+        if (thread == null) return;
+
+        thread.interrupt();
+        try {
+            thread.join(2000L);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+
+        map.putLong(AT_BEAT, System.currentTimeMillis());
+        map.putLong(AT_CLEAN, 1L);
+        try {
+            map.force();
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("Could not flush heartbeat file: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/MetricsServer.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.SessionPhase;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optional Prometheus text-format endpoint (JDK HttpServer, one virtual thread per request).
+ *
+ * Scrapes only read published, immutable state (the session snapshot and the stats
+ * history list), so they never wait on or schedule anything on the main thread.
+ * Try it with: {@code curl http://127.0.0.1:9465/metrics}
+ */
+final class MetricsServer {
+
+    private final RebootVotePlugin plugin;
+    private final RebootVoteSettings.MetricsSettings settings;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    MetricsServer(RebootVotePlugin plugin, RebootVoteSettings.MetricsSettings settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+    }
+
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(settings.bind(), settings.port()), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(settings.path(), this::handle);
+        server.start();
+    }
+
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private String render() {
+        SessionSnapshot s = plugin.sessionSnapshot();
+        RebootStatsStore stats = plugin.rebootStats();
+        StringBuilder sb = new StringBuilder(2048);
+
+        header(sb, "rebootvote_session_phase", "gauge", "1 for the current session phase, 0 otherwise.");
+        for (SessionPhase phase : SessionPhase.values()) {
+            sb.append("rebootvote_session_phase{phase=\"").append(phase.name().toLowerCase(Locale.ROOT))
+                    .append("\"} ").append(phase == s.phase() ? 1 : 0).append('\n');
+        }
+
+        gauge(sb, "rebootvote_session_remaining_seconds", "Seconds left on the countdown.", s.remainingSeconds());
+        gauge(sb, "rebootvote_session_total_seconds", "Countdown length of the current session.", s.totalSeconds());
+        gauge(sb, "rebootvote_session_voters", "Players tracked by the current session.", s.voters());
+        gauge(sb, "rebootvote_session_holders", "Players currently holding the countdown (WAIT).", s.holders().size());
+        gauge(sb, "rebootvote_session_idle_players", "Players treated as AFK for the all-OK check.", s.idle());
+
+        header(sb, "rebootvote_session_votes", "gauge", "Current votes by kind.");
+        sb.append("rebootvote_session_votes{vote=\"ok\"} ").append(s.okVotes()).append('\n');
+        sb.append("rebootvote_session_votes{vote=\"wait\"} ").append(s.waitVotes()).append('\n');
+        sb.append("rebootvote_session_votes{vote=\"none\"} ")
+                .append(Math.max(0, s.voters() - s.okVotes() - s.waitVotes())).append('\n');
+
+        List<Long> history = stats == null ? List.of() : stats.durationHistoryMs();
+        header(sb, "rebootvote_reboot_duration_seconds", "summary",
+                "Measured reboot downtime (shutdown start to plugin enable) over the last " + history.size() + " reboots.");
+        if (!history.isEmpty()) {
+            List<Long> sorted = new ArrayList<>(history);
+            Collections.sort(sorted);
+            for (double q : new double[]{0.5, 0.9, 0.99}) {
+                long v = sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(q * sorted.size()) - 1));
+                sb.append("rebootvote_reboot_duration_seconds{quantile=\"").append(q).append("\"} ")
+                        .append(seconds(v)).append('\n');
+            }
+        }
+        long sum = 0L;
+        for (long v : history) sum += v;
+        sb.append("rebootvote_reboot_duration_seconds_sum ").append(seconds(sum)).append('\n');
+        sb.append("rebootvote_reboot_duration_seconds_count ").append(history.size()).append('\n');
+
+        long last = stats == null ? -1L : stats.lastDurationMs();
+        gauge(sb, "rebootvote_reboot_last_duration_seconds", "Most recent measured reboot downtime (-1 if unknown).",
+                last > 0 ? seconds(last) : "-1");
+        gauge(sb, "rebootvote_reboot_samples_total", "Reboots measured since the stats were last reset.",
+                stats == null ? 0 : stats.samples());
+
+        long crash = stats == null ? -1L : stats.lastCrashDowntimeMs();
+        gauge(sb, "rebootvote_crash_last_downtime_seconds", "Downtime after the most recent unclean stop (-1 if none).",
+                crash > 0 ? seconds(crash) : "-1");
+        gauge(sb, "rebootvote_crash_samples_total", "Unclean stops measured since the stats were last reset.",
+                stats == null ? 0 : stats.crashSamples());
+
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void gauge(StringBuilder sb, String name, String help, Object value) {
+        header(sb, name, "gauge", help);
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static String seconds(long ms) {
+        return String.format(Locale.ROOT, "%.3f", ms / 1000.0);
+    }
+}
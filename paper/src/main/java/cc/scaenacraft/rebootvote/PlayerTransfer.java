@@ -0,0 +1,145 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/PlayerTransfer.java
+package cc.scaenacraft.rebootvote;
+
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * TRANSFER reboot mode: hands every online player to a holding server (lobby/limbo) with
+ * the 1.20.5+ transfer packet, a few per tick, then runs the real shutdown action.
+ *
+ * Each player gets a "rebootvote:return" cookie naming this server, and the optional
+ * notify URL receives a small JSON POST when this server goes down and when it is back,
+ * so the holding server knows whom to send back and when. Any HTTP endpoint works as a
+ * stand-in for testing; the target server needs accepts-transfers=true.
+ *
+ * Main thread only (HTTP is async and fire-and-forget).
+ */
+final class PlayerTransfer {
+
+    static final NamespacedKey RETURN_COOKIE = new NamespacedKey("rebootvote", "return");
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private final JavaPlugin plugin;
+    private final RebootVoteSettings.TransferSettings settings;
+
+    private final Set<UUID> sent = new HashSet<>();
+    private BukkitTask task;
+    private long deadlineMs;
+
+    PlayerTransfer(JavaPlugin plugin, RebootVoteSettings.TransferSettings settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+    }
+
+    /**
+     * Transfers everyone (including late joiners) in batches, then runs {@code then}. Gives up
+     * waiting after max_wait_seconds so a stuck client can never hold the reboot back.
+     */
+    void run(Runnable then) {
+        List<String> uuids = new ArrayList<>();
+        for (Player p : Bukkit.getOnlinePlayers()) uuids.add(p.getUniqueId().toString());
+        notifyHost("going_down", uuids);
+
+        deadlineMs = System.currentTimeMillis() + settings.maxWaitSeconds() * 1000L;
+        task = Bukkit.getScheduler().runTaskTimer(plugin, () -> step(then), 0L, settings.batchIntervalTicks());
+    }
+
+    private void step(Runnable then) {
+        int budget = settings.batchSize();
+        boolean waiting = false;
+
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            if (sent.contains(p.getUniqueId())) {
+                waiting = true; // transferred, connection not closed yet
+                continue;
+            }
+            if (budget-- <= 0) {
+                waiting = true;
+                break;
+            }
+            transfer(p);
+        }
+
+        if (waiting && System.currentTimeMillis() < deadlineMs) return;
+
+        task.cancel();
+        int left = Bukkit.getOnlinePlayers().size();
+        plugin.getLogger().info("Transferred " + sent.size() + " player(s) to " + settings.host() + ":" + settings.port()
+                + (left > 0 ? "; " + left + " still connected at the deadline." : "."));
+        then.run();
+    }
+
+    private void transfer(Player p) {
+        sent.add(p.getUniqueId());
+        try {
+            p.storeCookie(RETURN_COOKIE, returnAddress().getBytes(StandardCharsets.UTF_8));
+            p.transfer(settings.host(), settings.port());
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("Could not transfer " + p.getName() + ": " + ex.getMessage());
+        }
+    }
+
+    private String returnAddress() {
+        return settings.returnHost() + ":" + settings.returnPort();
+    }
+
+    /** Tells the holding server this server is back, so it can send players home. */
+    void notifyBackUp() {
+        notifyHost("back_up", List.of());
+    }
+
+    private void notifyHost(String event, List<String> players) {
+        String url = settings.notifyUrl();
+        if (url == null || url.isBlank()) return;
+
+        StringBuilder json = new StringBuilder(128 + players.size() * 40);
+        json.append("{\"event\":\"").append(event)
+                .append("\",\"server\":\"").append(escape(settings.serverId()))
+                .append("\",\"return\":\"").append(escape(returnAddress()))
+                .append("\",\"players\":[");
+        for (int i = 0; i < players.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append('"').append(players.get(i)).append('"');
+        }
+        json.append("]}");
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(3))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json.toString()))
+                    .build();
+        } catch (IllegalArgumentException ex) {
+            plugin.getLogger().warning("reboot.transfer.notify_url is not a valid URL: " + url);
+            return;
+        }
+
+        HTTP.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((resp, ex) -> {
+            if (ex != null) {
+                plugin.getLogger().warning("Transfer host notify (" + event + ") failed: " + ex.getMessage());
+            } else if (resp.statusCode() / 100 != 2) {
+                plugin.getLogger().warning("Transfer host notify (" + event + ") returned HTTP " + resp.statusCode());
+            }
+        });
+    }
+
+    private static String escape(String s) {
+        return s == null ? "" : s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
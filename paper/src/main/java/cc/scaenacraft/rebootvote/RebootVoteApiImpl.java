@@ -0,0 +1,38 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/RebootVoteApiImpl.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.RebootVoteApi;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+
+import java.util.OptionalLong;
+
+/**
+ * ServicesManager-registered API; every call is a volatile read.
+ */
+final class RebootVoteApiImpl implements RebootVoteApi {
+
+    private final RebootVotePlugin plugin;
+
+    RebootVoteApiImpl(RebootVotePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public SessionSnapshot snapshot() {
+        return plugin.sessionSnapshot();
+    }
+
+    @Override
+    public OptionalLong expectedDowntimeMillis() {
+        RebootStatsStore stats = plugin.rebootStats();
+        long avg = stats == null ? -1L : Math.round(stats.avgDurationMs());
+        return avg > 0 ? OptionalLong.of(avg) : OptionalLong.empty();
+    }
+
+    @Override
+    public OptionalLong lastDowntimeMillis() {
+        RebootStatsStore stats = plugin.rebootStats();
+        long last = stats == null ? -1L : stats.lastDurationMs();
+        return last > 0 ? OptionalLong.of(last) : OptionalLong.empty();
+    }
+}
@@ -0,0 +1,857 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/RebootVotePlugin.java
+package cc.scaenacraft.rebootvote;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.RebootVoteApi;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.commands.RebootVoteCommand;
+import cc.scaenacraft.rebootvote.commands.RebootVoteTabCompleter;
+import cc.scaenacraft.rebootvote.commands.VoteCommand;
+import cc.scaenacraft.rebootvote.listeners.ActivityListener;
+import cc.scaenacraft.rebootvote.listeners.ChatListener;
+import cc.scaenacraft.rebootvote.listeners.JoinQuitListener;
+import cc.scaenacraft.rebootvote.platform.PaperPlatform;
+import cc.scaenacraft.rebootvote.platform.Platform;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.ServicePriority;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class RebootVotePlugin extends JavaPlugin implements SessionHost, VoteIngress {
+
+    private MessageService messages;
+    private SettingsManager settings;
+    private ConfigWatcher configWatcher;
+    private MetricsServer metricsServer;
+    private AuditLog auditLog;
+    private RebootVoteSettings.AuditSettings auditSettings;
+    private ChunkWarmup chunkWarmup;
+    private RebootVoteSettings.MetricsSettings metricsSettings;
+
+    /** Read from async chat threads (activity notes), hence volatile. */
+    private volatile IdleSampler idleSampler;
+
+    private volatile RebootStatsStore rebootStats;
+
+    /** Live session, vote gate and reboot latches; null until onEnable. */
+    private SessionController sessions;
+
+    /**
+     * Chat/join/quit listeners are only registered while a session is live, so the
+     * server dispatches nothing to us the rest of the time.
+     */
+    private ChatListener chatListener;
+    private JoinQuitListener joinQuitListener;
+
+    /** Registered together with the idle sampler: activity before a vote starts counts too. */
+    private ActivityListener activityListener;
+    private RebootVoteSettings.IdleSettings idleSettings;
+
+    /**
+     * Set to true when a reboot is committed (countdown reached 0 or all players voted OK).
+     * The reboot-duration stopwatch is started in onDisable(), aligning timing to
+     * actual downtime (shutdown start -> plugin enable).
+     */
+    private volatile boolean rebootCommittedThisCycle = false;
+
+    /** Session/restart timeline; survives until the next export. */
+    private final TraceRecorder trace = new TraceRecorder();
+
+    /** Liveness file for crash downtime; started once config and stats are loaded. */
+    private Heartbeat heartbeat;
+
+    /** Continuous JFR recording; null until config is loaded, or when disabled. */
+    private volatile FlightRecording flightRecording;
+
+    /** Class histogram taken at commit; never waited for (dropped if unfinished at exit). */
+    private HeapHistogram heapHistogram;
+
+    /** Armed once a reboot is committed; never disarmed (the process is going down). */
+    private ShutdownWatchdog shutdownWatchdog;
+
+    /** Armed by a RELAUNCH reboot; told at the very end of onDisable that the plugin is done. */
+    private volatile ProcessRelauncher relauncher;
+
+    /** Paper adapter handed to sessions, broadcasts and the idle sampler. */
+    private final Platform platform = PaperPlatform.create(this);
+
+    /** Main-thread time spent in onEnable, and time until config and stats were ready. */
+    private long enableNanos = -1L;
+    private volatile long readyNanos = -1L;
+
+    @Override
+    public void onEnable() {
+        // onEnable is part of the measured downtime: only the cheap, synchronous work runs here.
+        long enableStart = System.nanoTime();
+        long enabledAtMs = System.currentTimeMillis();
+        long enableTrace = trace.now();
+
+        saveDefaultConfig(); // only writes when the file is missing
+
+        // New boot cycle
+        rebootCommittedThisCycle = false;
+
+        messages = new MessageService(getLogger(), platform, trace, this);
+        settings = new SettingsManager(getDataFolder(), getLogger(), platform, messages);
+        sessions = new SessionController(this, platform, messages, settings::current, () -> idleSampler, getLogger());
+
+        // Reboot timing stats: finalize the pending measurement against the enable timestamp, off-thread.
+        RebootStatsStore stats = new RebootStatsStore(getDataFolder(), getLogger(), enabledAtMs);
+        rebootStats = stats;
+        heartbeat = new Heartbeat(this);
+        AtomicInteger pendingLoads = new AtomicInteger(2); // stats + settings
+        Runnable noteReady = () -> {
+            if (pendingLoads.decrementAndGet() != 0) return;
+            readyNanos = System.nanoTime() - enableStart;
+            if (!isEnabled()) return;
+            // Scheduler tasks first run on the first server tick, once logins are accepted.
+            Bukkit.getScheduler().runTask(this, this::notifyTransferHostIfNeeded);
+            Bukkit.getScheduler().runTask(this, this::startChunkWarmup);
+            if (settings.current().heartbeatEnabled) Bukkit.getScheduler().runTaskAsynchronously(this, this::startHeartbeat);
+            if (settings.current().jfr.enabled()) Bukkit.getScheduler().runTaskAsynchronously(this, this::startFlightRecording);
+        };
+
+        Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+            long t = trace.now();
+            stats.loadAndFinalizePendingIfPresent();
+            checkPreviousHeartbeat(stats);
+            ProcessRelauncher.Timings relaunch = ProcessRelauncher.takeTimings();
+            if (relaunch != null) {
+                // Measured to the enable timestamp, like planned reboots.
+                stats.recordRelaunch(relaunch.waitedForShutdownMs(), relaunch.spawnToJvmStartMs(),
+                        relaunch.spawnToJvmStartMs() + (enabledAtMs - ManagementFactory.getRuntimeMXBean().getStartTime()));
+            }
+            long done = trace.now();
+            Bukkit.getScheduler().runTask(this, () -> trace.spanAt("stats load (async)", t, done, 0));
+            noteReady.run();
+        });
+
+        // Config parse + template validation, off-thread; current() falls back to loading
+        // synchronously if a vote is started before this lands.
+        settings.onPublished(this::applySettings);
+        settings.loadInBackground(() -> {
+            trace.spanAt("config load (async)", enableTrace, trace.now(), 0);
+            noteReady.run();
+        });
+
+        getServer().getServicesManager().register(RebootVoteApi.class, new RebootVoteApiImpl(this), this, ServicePriority.Normal);
+
+        var cmd = getCommand("rebootvote");
+        if (cmd != null) {
+            cmd.setExecutor(new RebootVoteCommand(this));
+            cmd.setTabCompleter(new RebootVoteTabCompleter());
+        }
+
+        var okCmd = getCommand("ok");
+        if (okCmd != null) okCmd.setExecutor(new VoteCommand(this, Vote.OK));
+
+        var waitCmd = getCommand("wait");
+        if (waitCmd != null) waitCmd.setExecutor(new VoteCommand(this, Vote.WAIT));
+
+        enableNanos = System.nanoTime() - enableStart;
+        trace.span("onEnable", enableTrace, 0);
+        getLogger().info("RebootVote enabled.");
+    }
+
+    @Override
+    public void onDisable() {
+        long disableTrace = trace.now();
+
+        if (configWatcher != null) {
+            configWatcher.stop();
+            configWatcher = null;
+        }
+        if (idleSampler != null) {
+            idleSampler.stop();
+            idleSampler = null;
+        }
+        if (metricsServer != null) {
+            metricsServer.stop();
+            metricsServer = null;
+        }
+
+        // If this shutdown is due to a committed RebootVote reboot,
+        // start the reboot-duration stopwatch now.
+        if (rebootCommittedThisCycle) {
+            long t = trace.now();
+            try {
+                if (rebootStats == null) rebootStats = new RebootStatsStore(getDataFolder(), getLogger());
+                rebootStats.markRebootInitiatedAt(System.currentTimeMillis());
+            } catch (Exception ignored) {
+                // Never block shutdown
+            }
+            trace.span("stats marker", t, 0);
+        }
+
+        // Silent cleanup: no broadcasts during shutdown.
+        if (sessions != null) {
+            try {
+                sessions.endSilently();
+            } catch (Exception ignored) {
+                // Never block shutdown
+            }
+        }
+
+        if (chunkWarmup != null) {
+            chunkWarmup.stop();
+            chunkWarmup = null;
+        }
+
+        FlightRecording jfr = flightRecording;
+        if (jfr != null) {
+            long t = trace.now();
+            jfr.stop();
+            flightRecording = null;
+            trace.span("jfr stop", t, 0);
+        }
+
+        // After the session ended, so its audit entry is still written out.
+        if (auditLog != null) {
+            long t = trace.now();
+            auditLog.stop();
+            auditLog = null;
+            trace.span("audit flush", t, 0);
+        }
+
+        // Last: anything after this point that hangs is the watchdog's business, not a crash.
+        if (heartbeat != null) heartbeat.stop();
+
+        // The next boot appends its half (downtime, enable, warm-up) to the same file.
+        if (rebootCommittedThisCycle && trace.isEnabled()) {
+            trace.span("onDisable", disableTrace, 0);
+            try {
+                TraceRecorder.append(pendingTraceFile(), trace.drainTo(1, "before reboot"));
+            } catch (Exception ex) {
+                getLogger().warning("Could not write reboot trace: " + ex.getMessage());
+            }
+        }
+
+        getServer().getServicesManager().unregisterAll(this);
+
+        getLogger().info("RebootVote disabled.");
+
+        // Last of all. Worlds are saved after plugins disable, so the relaunch hook still
+        // waits for the server thread before it spawns the new server.
+        ProcessRelauncher r = relauncher;
+        if (r != null) r.pluginDisabled();
+    }
+
+    /* -------------------------------------------------------------------------
+     * Permissions & access
+     * ---------------------------------------------------------------------- */
+
+    public boolean isSenderAllowed(CommandSender sender) {
+        if (!(sender instanceof Player)) return true; // console always allowed
+        return sender.hasPermission("rebootvote.admin");
+    }
+
+    public VoteKeywords getVoteKeywords() {
+        return settings.current().voteKeywords;
+    }
+
+    public boolean isSessionActive() {
+        return sessions != null && sessions.isActive();
+    }
+
+    RebootStatsStore rebootStats() {
+        return rebootStats;
+    }
+
+    /**
+     * Latest published session state, or {@link SessionSnapshot#NONE}. Lock-free; safe from any thread.
+     */
+    public SessionSnapshot sessionSnapshot() {
+        return sessions == null ? SessionSnapshot.NONE : sessions.snapshot();
+    }
+
+    public RebootVoteSettings getSettings() {
+        return settings.current();
+    }
+
+    /* -------------------------------------------------------------------------
+     * Session lifecycle
+     * ---------------------------------------------------------------------- */
+
+    /**
+     * Called (through the SessionController) at the moment the reboot is committed
+     * (countdown reached 0 OR all players voted OK OR forced). Only the first commit per reboot
+     * gets here; in COMMAND mode the process may stay up and see another one later.
+     */
+    @Override
+    public boolean noteRebootCommitted(CommitReason reason, SessionSnapshot snapshot) {
+        rebootCommittedThisCycle = true;
+
+        RebootVoteSettings s = settings.current();
+
+        // The minutes before the commit (often the lag behind the vote), before the restart clears them.
+        FlightRecording jfr = flightRecording;
+        if (jfr != null) jfr.dumpForCommit(reason, snapshot, platform.server().averageTickMs());
+
+        // Where everyone is right now, so the next boot can load those chunks before they return.
+        if (s.warmup.enabled() && rebootStats != null) {
+            rebootStats.saveWarmupChunks(ChunkWarmup.capture());
+        }
+
+        if (s.histogramEnabled && heapHistogram == null) {
+            heapHistogram = new HeapHistogram(this, s.histogramBudgetMs);
+            heapHistogram.start();
+        }
+
+        // From here on the process must go down within the watchdog budget (plus TRANSFER's wait).
+        if (s.watchdog.enabled() && shutdownWatchdog == null) {
+            boolean transfer = "TRANSFER".equalsIgnoreCase(s.rebootMode);
+            long grace = transfer ? s.transfer.maxWaitSeconds() : 0L;
+            String action = transfer ? s.transfer.afterMode() : s.rebootMode;
+            // A reboot command need not stop this process; never force an exit on it.
+            boolean escalate = !"COMMAND".equalsIgnoreCase(action);
+            shutdownWatchdog = new ShutdownWatchdog(this, rebootStats, s.watchdog, grace, escalate);
+            shutdownWatchdog.arm();
+        }
+        return true;
+    }
+
+    /**
+     * Called by RebootSession when it stops taking input (cancel, commit, shutdown).
+     */
+    @Override
+    public void onSessionEnded(RebootSession ended) {
+        unregisterSessionListeners();
+    }
+
+    public void commandStart(CommandSender sender, int seconds) {
+        if (sessions.isActive()) {
+            sender.sendMessage("RebootVote: a session is already running. Use /rebootvote status or /rebootvote cancel.");
+            return;
+        }
+        if (sessions.rebootPending()) {
+            sender.sendMessage("RebootVote: a reboot is already under way.");
+            return;
+        }
+
+        RebootVoteSettings s = settings.current();
+        rebootCommittedThisCycle = false;
+
+        registerSessionListeners();
+        sessions.start(seconds, s.statusUpdateIntervalSeconds, s.bossBar.enabled());
+
+        sender.sendMessage("RebootVote: started (" + seconds + "s).");
+    }
+
+    public void commandCancel(CommandSender sender) {
+        if (!sessions.cancel(PaperPlatform.sender(sender))) {
+            sender.sendMessage("RebootVote: no active session to cancel.");
+            return;
+        }
+        sender.sendMessage("RebootVote: canceled.");
+    }
+
+    public void commandStatus(CommandSender sender) {
+        if (!sessions.status(PaperPlatform.sender(sender))) {
+            sender.sendMessage("RebootVote: no session running.");
+        }
+    }
+
+    public void commandForce(CommandSender sender) {
+        switch (sessions.force(PaperPlatform.sender(sender))) {
+            case UNDER_WAY -> sender.sendMessage("RebootVote: a reboot is already under way.");
+            case SESSION -> sender.sendMessage("RebootVote: force reboot initiated.");
+            case EPHEMERAL -> sender.sendMessage("RebootVote: force reboot initiated (no session).");
+        }
+    }
+
+    public void commandReload(CommandSender sender) {
+        sender.sendMessage("RebootVote: reloading config...");
+        settings.reloadAsync().whenComplete((changed, ex) -> {
+            if (ex != null) {
+                sender.sendMessage("RebootVote: reload failed (" + ex.getMessage() + "). Keeping previous config.");
+                return;
+            }
+            sender.sendMessage("RebootVote: reloaded config"
+                    + (changed.isEmpty() ? "." : " (changed: " + String.join(", ", changed) + ")."));
+        });
+    }
+
+    public void commandStats(CommandSender sender) {
+        if (rebootStats == null) rebootStats = new RebootStatsStore(getDataFolder(), getLogger());
+
+        sender.sendMessage("RebootVote stats:");
+        sender.sendMessage(" - Last reboot: " + rebootStats.lastSecondsDisplay() + "s | Average: "
+                + rebootStats.avgSecondsDisplay() + "s (" + rebootStats.samples() + " samples)");
+        if (rebootStats.previousShutdownStall() != null) {
+            sender.sendMessage(" - Previous shutdown was slow: " + rebootStats.previousShutdownStall());
+        }
+        sender.sendMessage(" - Unplanned downtime (crashes): " + rebootStats.crashDisplay());
+        if (rebootStats.lastRelaunchDisplay() != null) {
+            sender.sendMessage(" - Last relaunch: " + rebootStats.lastRelaunchDisplay());
+        }
+        if (chunkWarmup != null && chunkWarmup.summary() != null) {
+            sender.sendMessage(" - Chunk warm-up: " + chunkWarmup.summary());
+        }
+        long ready = readyNanos;
+        sender.sendMessage(String.format(Locale.ROOT, " - Plugin enable: %.1f ms on the main thread | config + stats ready after %s",
+                enableNanos / 1_000_000.0, ready < 0 ? "(still loading)" : String.format(Locale.ROOT, "%.1f ms", ready / 1_000_000.0)));
+        if (messages != null) {
+            sender.sendMessage(" - Render cache: " + messages.renderCacheStatsDisplay());
+        }
+    }
+
+    public void commandPerf(CommandSender sender) {
+        SessionMetrics m = sessions.lastMetrics();
+        if (m == null) {
+            sender.sendMessage("RebootVote: no session has run since startup.");
+            return;
+        }
+
+        boolean live = sessions.isActive();
+        sender.sendMessage("RebootVote perf (" + (live ? "current" : "last") + " session, main-thread cost per entry point):");
+        for (String line : m.displayLines()) {
+            sender.sendMessage(line);
+        }
+    }
+
+    public void commandHistory(CommandSender sender, int count) {
+        int n = Math.max(1, Math.min(50, count));
+
+        // Reads the tail of the audit index off-thread, then replies from the main thread.
+        Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+            List<String> lines;
+            try {
+                lines = AuditLog.history(getDataFolder(), n);
+            } catch (IOException ex) {
+                Bukkit.getScheduler().runTask(this, () ->
+                        sender.sendMessage("RebootVote: could not read audit history (" + ex.getMessage() + ")."));
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(this, () -> {
+                if (lines.isEmpty()) {
+                    sender.sendMessage("RebootVote: no sessions recorded yet.");
+                    return;
+                }
+                sender.sendMessage("RebootVote: last " + lines.size() + " session(s), newest first:");
+                for (String line : lines) sender.sendMessage(" - " + line);
+            });
+        });
+    }
+
+    public void commandStatsLeaks(CommandSender sender) {
+        Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+            List<HeapHistogram.Trend> trends;
+            try {
+                trends = HeapHistogram.leaks(this, 10);
+            } catch (IOException ex) {
+                Bukkit.getScheduler().runTask(this, () ->
+                        sender.sendMessage("RebootVote: could not read heap histograms (" + ex.getMessage() + ")."));
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(this, () -> {
+                if (trends.isEmpty()) {
+                    sender.sendMessage("RebootVote: no growing classes found (needs histograms from at least 3 reboots).");
+                    return;
+                }
+                sender.sendMessage("RebootVote: classes growing fastest with uptime (live heap at reboot, across cycles):");
+                for (HeapHistogram.Trend t : trends) {
+                    sender.sendMessage(String.format(Locale.ROOT, " - %s: +%.1f MB/h, +%.0f instances/h (%.1f MB last, %d reboots)",
+                            t.className(), t.bytesPerHour() / (1024.0 * 1024.0), t.instancesPerHour(),
+                            t.lastBytes() / (1024.0 * 1024.0), t.snapshots()));
+                }
+            });
+        });
+    }
+
+    public void commandStatsReset(CommandSender sender) {
+        if (!isSenderAllowed(sender)) {
+            sender.sendMessage("RebootVote: you do not have permission.");
+            return;
+        }
+
+        if (rebootStats == null) rebootStats = new RebootStatsStore(getDataFolder(), getLogger());
+        rebootStats.resetTimingStats();
+
+        rebootCommittedThisCycle = false;
+        sender.sendMessage("RebootVote: reboot timing stats reset.");
+    }
+
+    /* -------------------------------------------------------------------------
+     * Listener entry points
+     * ---------------------------------------------------------------------- */
+
+    @Override
+    public void handleVote(Voter player, Vote vote) {
+        sessions.handleVote(player, vote);
+    }
+
+    /**
+     * Duplicate/rate check for a vote from chat, a button or /ok,/wait; call before
+     * scheduling {@link #handleVote}. Safe from any thread.
+     */
+    @Override
+    public boolean admitVote(Voter player, Vote vote) {
+        return sessions.admitVote(player, vote);
+    }
+
+    /**
+     * Called by listeners right before they hand work to the main thread. Safe from any thread.
+     */
+    public void noteIngressTask() {
+        sessions.noteIngressTask();
+    }
+
+    /**
+     * Chat/interaction/vote activity for idle detection. Safe from any thread.
+     */
+    public void noteActivity(UUID playerId) {
+        sessions.noteActivity(playerId);
+    }
+
+    public void handleJoin(Voter player) {
+        sessions.handleJoin(player);
+    }
+
+    public void handleQuit(Voter player) {
+        sessions.handleQuit(player);
+    }
+
+    public void handleLocaleChange(Voter player, Locale locale) {
+        sessions.handleLocaleChange(player, locale);
+    }
+
+    /* -------------------------------------------------------------------------
+     * Config / reboot execution
+     * ---------------------------------------------------------------------- */
+
+    private void registerSessionListeners() {
+        if (joinQuitListener != null) return;
+
+        joinQuitListener = new JoinQuitListener(this);
+        getServer().getPluginManager().registerEvents(joinQuitListener, this);
+
+        // Chat scraping is optional; /ok, /wait and the buttons work without it.
+        if (settings.current().chatVotingEnabled) {
+            chatListener = new ChatListener(this);
+            getServer().getPluginManager().registerEvents(chatListener, this);
+        }
+    }
+
+    private void unregisterSessionListeners() {
+        if (joinQuitListener == null) return;
+
+        HandlerList.unregisterAll(joinQuitListener);
+        joinQuitListener = null;
+
+        if (chatListener != null) {
+            HandlerList.unregisterAll(chatListener);
+            chatListener = null;
+        }
+    }
+
+    /**
+     * Starts, stops or reconfigures everything that follows the settings snapshot. Main thread;
+     * runs after every publish (startup load, /rebootvote reload and file-watch reloads alike).
+     */
+    private void applySettings() {
+        trace.setEnabled(settings.current().traceEnabled);
+        updateConfigWatcher();
+        updateIdleSampler();
+        updateMetricsServer();
+        updateAuditLog();
+    }
+
+    private void updateMetricsServer() {
+        RebootVoteSettings.MetricsSettings wanted = settings.current().metrics;
+        if (wanted.equals(metricsSettings)) return;
+
+        if (metricsServer != null) metricsServer.stop();
+        metricsServer = null;
+        metricsSettings = wanted;
+
+        if (!wanted.enabled()) return;
+        MetricsServer server = new MetricsServer(this, wanted);
+        try {
+            server.start();
+            metricsServer = server;
+            getLogger().info("Metrics endpoint on http://" + wanted.bind() + ":" + wanted.port() + wanted.path());
+        } catch (IOException ex) {
+            server.stop();
+            getLogger().warning("Could not start metrics endpoint on " + wanted.bind() + ":" + wanted.port() + ": " + ex.getMessage());
+        }
+    }
+
+    private void startChunkWarmup() {
+        List<String> saved = rebootStats.takeWarmupChunks();
+        RebootVoteSettings.WarmupSettings ws = settings.current().warmup;
+        if (saved.isEmpty() || !ws.enabled()) {
+            finishRestartTrace();
+            return;
+        }
+
+        long t = trace.now();
+        chunkWarmup = new ChunkWarmup(this, ws);
+        chunkWarmup.start(saved, () -> {
+            trace.span("chunk warm-up", t, 0);
+            finishRestartTrace();
+        });
+    }
+
+    /* -------------------------------------------------------------------------
+     * Crash downtime
+     * ---------------------------------------------------------------------- */
+
+    /** Async, before the heartbeat restarts: did the previous run stop without onDisable? */
+    private void checkPreviousHeartbeat(RebootStatsStore stats) {
+        Heartbeat.Previous prev = Heartbeat.readPrevious(Heartbeat.file(this));
+        if (prev == null || prev.cleanStop()) return;
+        Heartbeat.acknowledge(Heartbeat.file(this));
+
+        long downtime = stats.recordCrashDowntime(prev.lastBeatMs());
+        String frozen = prev.frozenMs() >= 5000L
+                ? String.format(Locale.ROOT, "; the main thread had stopped ticking %.0fs before that", prev.frozenMs() / 1000.0)
+                : "";
+        if (downtime > 0) {
+            getLogger().warning(String.format(Locale.ROOT, "The server did not shut down cleanly last time (crash or kill): "
+                    + "down for %.1fs since its last heartbeat%s.", downtime / 1000.0, frozen));
+        } else {
+            getLogger().warning("The server did not shut down cleanly last time" + frozen + " (downtime too long to count).");
+        }
+    }
+
+    /** Async: starts the recording and summarizes dumps the previous run had no time for. */
+    private void startFlightRecording() {
+        FlightRecording jfr = new FlightRecording(this, settings.current().jfr);
+        jfr.start();
+        flightRecording = jfr;
+        jfr.summarizePending();
+    }
+
+    private void startHeartbeat() {
+        try {
+            heartbeat.start();
+        } catch (IOException ex) {
+            getLogger().warning("Could not start the heartbeat file (crash downtime will not be measured): " + ex.getMessage());
+        }
+    }
+
+    /* -------------------------------------------------------------------------
+     * Trace export
+     * ---------------------------------------------------------------------- */
+
+    @Override
+    public TraceRecorder trace() {
+        return trace;
+    }
+
+    private Path traceDir() {
+        return getDataFolder().toPath().resolve("traces");
+    }
+
+    private Path pendingTraceFile() {
+        return traceDir().resolve("pending.json");
+    }
+
+    /**
+     * Completes the trace the previous boot left behind with this boot's downtime and
+     * startup, then files it as reboot-&lt;time&gt;.json. Main thread; file work is async.
+     */
+    private void finishRestartTrace() {
+        long rebootStartedMs = rebootStats.measuredRebootStartedMs();
+        if (rebootStartedMs > 0) {
+            long jvmStartMicros = ManagementFactory.getRuntimeMXBean().getStartTime() * 1000L;
+            trace.spanAt("downtime: shutdown until JVM start", rebootStartedMs * 1000L, jvmStartMicros, 0);
+            trace.spanAt("downtime: JVM start until plugin enable", jvmStartMicros, trace.now(), 0);
+        }
+        String events = trace.drainTo(2, "after reboot");
+        int keep = settings.current().traceKeepFiles;
+
+        Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+            Path pending = pendingTraceFile();
+            if (!Files.exists(pending)) return; // not a RebootVote reboot, or tracing was off
+
+            try {
+                TraceRecorder.append(pending, events);
+                long stamp = rebootStartedMs > 0 ? rebootStartedMs : System.currentTimeMillis();
+                Files.move(pending, traceDir().resolve("reboot-" + TraceRecorder.fileStamp(stamp) + ".json"),
+                        StandardCopyOption.REPLACE_EXISTING);
+                pruneTraces(keep);
+            } catch (IOException ex) {
+                getLogger().warning("Could not finish reboot trace: " + ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * A session that ended without a reboot gets a trace of its own. Main thread.
+     */
+    @Override
+    public void exportSessionTrace() {
+        if (!trace.isEnabled()) return;
+
+        String events = trace.drainTo(1, "session");
+        Path file = traceDir().resolve("session-" + TraceRecorder.fileStamp(System.currentTimeMillis()) + ".json");
+        int keep = settings.current().traceKeepFiles;
+
+        Runnable write = () -> {
+            try {
+                TraceRecorder.append(file, events);
+                pruneTraces(keep);
+            } catch (IOException ex) {
+                getLogger().warning("Could not write session trace: " + ex.getMessage());
+            }
+        };
+        if (isEnabled()) Bukkit.getScheduler().runTaskAsynchronously(this, write);
+        else write.run(); // shutting down: async tasks would not run
+    }
+
+    private void pruneTraces(int keep) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(traceDir(), "{reboot,session}-*.json")) {
+            dir.forEach(files::add);
+        }
+        if (files.size() <= keep) return;
+
+        files.sort(Comparator.comparingLong(p -> p.toFile().lastModified()));
+        for (Path p : files.subList(0, files.size() - keep)) Files.deleteIfExists(p);
+    }
+
+    /**
+     * TRANSFER mode: the "back up" signal the holding server waits for before sending players
+     * back. Main thread, from a scheduled task: during onEnable logins would still be refused.
+     */
+    private void notifyTransferHostIfNeeded() {
+        RebootVoteSettings s = settings.current();
+        if (!"TRANSFER".equalsIgnoreCase(s.rebootMode)) return;
+        new PlayerTransfer(this, s.transfer).notifyBackUp();
+    }
+
+    private void updateAuditLog() {
+        RebootVoteSettings.AuditSettings wanted = settings.current().audit;
+        if (wanted.equals(auditSettings)) return;
+
+        if (auditLog != null) auditLog.stop();
+        auditLog = null;
+        auditSettings = wanted;
+
+        if (!wanted.enabled()) return;
+        auditLog = new AuditLog(getDataFolder(), getLogger(), wanted);
+        auditLog.start();
+    }
+
+    /** Called by a session once it is over. Main thread; never blocks. */
+    @Override
+    public void auditSession(AuditLog.Entry entry) {
+        if (auditLog != null) auditLog.submit(entry);
+    }
+
+    private void updateIdleSampler() {
+        RebootVoteSettings.IdleSettings wanted = settings.current().idle;
+        if (wanted.equals(idleSettings)) return;
+
+        // Settings changed: restart sampling (history is cheap to rebuild).
+        if (idleSampler != null) idleSampler.stop();
+        idleSampler = null;
+        idleSettings = wanted;
+
+        if (wanted.enabled()) {
+            IdleSampler sampler = new IdleSampler(platform, wanted, sessions::handleIdleChange);
+            sampler.start();
+            idleSampler = sampler;
+            if (activityListener == null) {
+                activityListener = new ActivityListener(this);
+                getServer().getPluginManager().registerEvents(activityListener, this);
+            }
+        } else if (activityListener != null) {
+            HandlerList.unregisterAll(activityListener);
+            activityListener = null;
+        }
+    }
+
+    private void updateConfigWatcher() {
+        boolean wanted = settings.current().watchConfigFile;
+        if (wanted && configWatcher == null) {
+            configWatcher = new ConfigWatcher(this, settings);
+            configWatcher.start();
+        } else if (!wanted && configWatcher != null) {
+            configWatcher.stop();
+            configWatcher = null;
+        }
+    }
+
+    /**
+     * Executes the configured reboot action. Once per reboot (the SessionController's latch).
+     */
+    @Override
+    public void executeRebootAction() {
+        RebootVoteSettings s = settings.current();
+        String mode = s.rebootMode;
+
+        trace.instant("reboot action", 0);
+
+        if ("TRANSFER".equalsIgnoreCase(mode)) {
+            if (s.transfer.host() == null || s.transfer.host().isBlank()) {
+                getLogger().warning("reboot.mode is TRANSFER but reboot.transfer.host is empty; shutting down without transfers.");
+            } else {
+                long t = trace.now();
+                new PlayerTransfer(this, s.transfer).run(() -> {
+                    trace.span("player transfer", t, Bukkit.getOnlinePlayers().size());
+                    runShutdownAction(s, s.transfer.afterMode());
+                });
+                return;
+            }
+        }
+
+        runShutdownAction(s, mode);
+    }
+
+    private void runShutdownAction(RebootVoteSettings s, String mode) {
+        if ("RELAUNCH".equalsIgnoreCase(mode)) {
+            ProcessRelauncher r = ProcessRelauncher.capture(getLogger());
+            if (r == null) {
+                getLogger().warning("reboot.mode is RELAUNCH but the command line could not be determined; shutting down only.");
+            } else if (r.arm(Thread.currentThread(), s.relaunchMaxWaitSeconds * 1000L)) { // main thread
+                relauncher = r;
+                getLogger().info("Relaunching after shutdown: " + String.join(" ", r.command()));
+            }
+        }
+
+        if ("COMMAND".equalsIgnoreCase(mode)) {
+            String cmd = s.rebootCommand;
+            if (cmd != null && !cmd.isBlank()) {
+                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), cmd);
+                return;
+            }
+        }
+
+        platform.server().shutdown();
+    }
+
+    /* -------------------------------------------------------------------------
+     * Placeholder helpers
+     * ---------------------------------------------------------------------- */
+
+    @Override
+    public String getLastRebootSecondsDisplay() {
+        return rebootStats == null ? "" : rebootStats.lastSecondsDisplay();
+    }
+
+    @Override
+    public String getAvgRebootSecondsDisplay() {
+        return rebootStats == null ? "" : rebootStats.avgSecondsDisplay();
+    }
+}
@@ -0,0 +1,261 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/ShutdownWatchdog.java
+package cc.scaenacraft.rebootvote;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Bounds how long a committed reboot can take to actually stop the process.
+ *
+ * Armed when the reboot is committed. A daemon thread writes thread dumps to
+ * plugins/RebootVote/watchdog/ at the configured checkpoints, then escalates: if the JVM is
+ * still alive after exit_after_seconds it calls System.exit (shutdown hooks still run), and
+ * after halt_after_seconds it calls Runtime.halt. At each step the most likely culprit (the
+ * plugin whose code the main thread is stuck in, the lock it waits for, or the non-daemon
+ * threads keeping the JVM up) is saved to the stats store and shown after the next boot.
+ *
+ * Off by default. In COMMAND mode the process is not necessarily meant to stop (the command
+ * may hand over to a script that does it), so only the thread dumps are taken there.
+ *
+ * The thread keeps running after this plugin is disabled, when its class loader may already
+ * be closed, so everything it uses is created in {@link #arm()}: no lambdas or new classes
+ * after that point.
+ */
+final class ShutdownWatchdog implements Runnable {
+
+    private static final int MAX_DUMP_FILES = 10;
+
+    private final Logger log;
+    private final RebootStatsStore stats;
+    private final RebootVoteSettings.WatchdogSettings settings;
+    private final Path dumpDir;
+
+    /** Extra seconds on top of every checkpoint, e.g. TRANSFER's wait before the shutdown starts. */
+    private final long graceSeconds;
+
+    /** False in COMMAND mode: dumps only, never System.exit or halt. */
+    private final boolean escalate;
+
+    private Thread mainThread;
+    private long armedAtNanos;
+
+    /** Package prefix -> plugin name, captured on the main thread at arm time. */
+    private final Map<String, String> pluginPackages = new HashMap<>();
+
+    // Prebuilt so nothing needs class loading once the plugin is disabled.
+    private final Runnable exitTask;
+    private final Runnable recordTask;
+    private volatile String pendingStall;
+
+    private Thread thread;
+
+    ShutdownWatchdog(JavaPlugin plugin, RebootStatsStore stats, RebootVoteSettings.WatchdogSettings settings,
+                     long graceSeconds, boolean escalate) {
+        this.log = plugin.getLogger();
+        this.stats = stats;
+        this.settings = settings;
+        this.dumpDir = plugin.getDataFolder().toPath().resolve("watchdog");
+        this.graceSeconds = Math.max(0L, graceSeconds);
+        this.escalate = escalate;
+
+        int code = settings.exitCode();
+        this.exitTask = () -> System.exit(code);
+        this.recordTask = () -> {
+            if (stats != null) stats.recordShutdownStall(pendingStall);
+        };
+    }
+
+    /** Main thread. Starts the countdown; arming twice is a no-op. */
+    void arm() {
+        if (thread != null) return;
+
+        mainThread = Thread.currentThread();
+        armedAtNanos = System.nanoTime();
+        for (Plugin p : Bukkit.getPluginManager().getPlugins()) {
+            String pkg = p.getClass().getPackageName();
+            if (!pkg.isEmpty()) pluginPackages.put(pkg, p.getName());
+        }
+
+        thread = new Thread(this, "RebootVote-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        pruneDumps();
+
+        for (int checkpoint : settings.dumpAtSeconds()) {
+            if (!sleepUntil(checkpoint)) return;
+            String culprit = culprit();
+            log.warning("Shutdown still running " + checkpoint + "s after the reboot was committed; " + culprit);
+            writeDump(checkpoint, culprit);
+            record(checkpoint + "s: " + culprit);
+        }
+        if (!escalate) return;
+
+        if (!sleepUntil(settings.exitAfterSeconds())) return;
+        String culprit = culprit();
+        log.severe("Shutdown did not finish within " + settings.exitAfterSeconds() + "s; calling System.exit. " + culprit);
+        record(settings.exitAfterSeconds() + "s, forced System.exit: " + culprit);
+        // On its own thread: System.exit blocks forever if an exit is already in progress.
+        Thread exit = new Thread(exitTask, "RebootVote-watchdog-exit");
+        exit.setDaemon(true);
+        exit.start();
+
+        if (!sleepUntil(settings.haltAfterSeconds())) return;
+        culprit = culprit();
+        log.severe("JVM still alive " + settings.haltAfterSeconds() + "s after commit; halting. " + culprit);
+        record(settings.haltAfterSeconds() + "s, forced halt: " + culprit);
+        Runtime.getRuntime().halt(settings.exitCode());
+    }
+
+    /** Sleeps until {@code seconds} after arming (plus grace); false if interrupted. */
+    private boolean sleepUntil(long seconds) {
+        long deadline = armedAtNanos + (seconds + graceSeconds) * 1_000_000_000L;
+        while (true) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) return true;
+            try {
+                Thread.sleep(Math.max(1L, left / 1_000_000L));
+            } catch (InterruptedException ex) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Saves the stall on a helper thread with a short join, so a lock held by a stuck thread
+     * can never stop the escalation.
+     */
+    private void record(String stall) {
+        pendingStall = stall;
+        Thread t = new Thread(recordTask, "RebootVote-watchdog-record");
+        t.setDaemon(true);
+        t.start();
+        try {
+            t.join(1000L);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* -------------------------------------------------------------------------
+     * Diagnosis
+     * ---------------------------------------------------------------------- */
+
+    private String culprit() {
+        if (mainThread.isAlive()) {
+            ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+            ThreadInfo info = mx.getThreadInfo(mainThread.threadId(), Integer.MAX_VALUE);
+            StackTraceElement[] stack = info != null ? info.getStackTrace() : mainThread.getStackTrace();
+
+            StringBuilder sb = new StringBuilder("main thread ");
+            sb.append(info != null ? info.getThreadState() : mainThread.getState());
+            StackTraceElement frame = firstPluginFrame(stack);
+            if (frame != null) {
+                sb.append(" in plugin ").append(pluginOf(frame.getClassName())).append(" at ").append(frame);
+            } else if (stack.length > 0) {
+                sb.append(" at ").append(stack[0]);
+            }
+            if (info != null && info.getLockName() != null) {
+                sb.append(", waiting on ").append(info.getLockName());
+                if (info.getLockOwnerName() != null) sb.append(" held by '").append(info.getLockOwnerName()).append('\'');
+            }
+            return sb.toString();
+        }
+
+        // The server loop finished; something else is keeping the JVM up.
+        List<String> holding = new ArrayList<>();
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.isDaemon() || t == Thread.currentThread() || "DestroyJavaVM".equals(t.getName())) continue;
+            StackTraceElement frame = firstPluginFrame(t.getStackTrace());
+            holding.add("'" + t.getName() + "'" + (frame != null ? " (" + pluginOf(frame.getClassName()) + ")" : ""));
+        }
+        return holding.isEmpty()
+                ? "main thread finished; waiting on shutdown hooks"
+                : "main thread finished; non-daemon threads still running: " + String.join(", ", holding);
+    }
+
+    private StackTraceElement firstPluginFrame(StackTraceElement[] stack) {
+        for (StackTraceElement e : stack) {
+            if (pluginOf(e.getClassName()) != null) return e;
+        }
+        return null;
+    }
+
+    /** Plugin owning {@code className} by longest matching main-class package, or null. */
+    private String pluginOf(String className) {
+        String best = null;
+        int bestLen = -1;
+        for (Map.Entry<String, String> e : pluginPackages.entrySet()) {
+            String pkg = e.getKey();
+            if (pkg.length() > bestLen && className.startsWith(pkg) && className.length() > pkg.length()
+                    && className.charAt(pkg.length()) == '.') {
+                best = e.getValue();
+                bestLen = pkg.length();
+            }
+        }
+        return best;
+    }
+
+    private void writeDump(int checkpoint, String culprit) {
+        StringBuilder sb = new StringBuilder(64 * 1024);
+        sb.append("RebootVote shutdown watchdog, ").append(checkpoint).append("s after commit\n");
+        sb.append("Likely cause: ").append(culprit).append("\n\n");
+
+        for (ThreadInfo info : ManagementFactory.getThreadMXBean().dumpAllThreads(true, true)) {
+            sb.append('"').append(info.getThreadName()).append("\" id=").append(info.getThreadId())
+                    .append(' ').append(info.getThreadState());
+            if (info.getLockName() != null) sb.append(" on ").append(info.getLockName());
+            if (info.getLockOwnerName() != null) sb.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+            sb.append('\n');
+            for (StackTraceElement e : info.getStackTrace()) sb.append("\tat ").append(e).append('\n');
+            for (LockInfo lock : info.getLockedSynchronizers()) sb.append("\t- locked ").append(lock).append('\n');
+            sb.append('\n');
+        }
+
+        Path file = dumpDir.resolve("shutdown-" + TraceRecorder.fileStamp(System.currentTimeMillis()) + "-" + checkpoint + "s.txt");
+        try {
+            Files.createDirectories(dumpDir);
+            Files.writeString(file, sb, StandardCharsets.UTF_8);
+            log.warning("Thread dump written to " + file);
+        } catch (IOException ex) {
+            log.warning("Could not write thread dump: " + ex.getMessage());
+        }
+    }
+
+    private void pruneDumps() {
+        if (!Files.isDirectory(dumpDir)) return;
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(dumpDir, "shutdown-*.txt")) {
+            dir.forEach(files::add);
+        } catch (IOException ex) {
+            return;
+        }
+        if (files.size() < MAX_DUMP_FILES) return;
+
+        files.sort(Comparator.comparing(p -> p.getFileName().toString())); // timestamped: oldest first
+        for (Path p : files.subList(0, files.size() - MAX_DUMP_FILES + 1)) {
+            try {
+                Files.deleteIfExists(p);
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/api/event/RebootVoteCancelEvent.java
+package cc.scaenacraft.rebootvote.api.event;
+
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.HandlerList;
+
+/** The session was canceled by an admin. */
+public final class RebootVoteCancelEvent extends RebootVoteEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final CommandSender canceledBy;
+
+    public RebootVoteCancelEvent(SessionSnapshot snapshot, CommandSender canceledBy) {
+        super(snapshot);
+        this.canceledBy = canceledBy;
+    }
+
+    public CommandSender getCanceledBy() {
+        return canceledBy;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
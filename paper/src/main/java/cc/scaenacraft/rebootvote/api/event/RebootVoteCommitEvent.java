@@ -0,0 +1,32 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/api/event/RebootVoteCommitEvent.java
+package cc.scaenacraft.rebootvote.api.event;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import org.bukkit.event.HandlerList;
+
+/** The reboot is committed; the server will go down shortly. Not cancellable. */
+public final class RebootVoteCommitEvent extends RebootVoteEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final CommitReason reason;
+
+    public RebootVoteCommitEvent(SessionSnapshot snapshot, CommitReason reason) {
+        super(snapshot);
+        this.reason = reason;
+    }
+
+    public CommitReason getReason() {
+        return reason;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
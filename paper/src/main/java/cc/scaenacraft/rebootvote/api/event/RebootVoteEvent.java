@@ -0,0 +1,23 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/api/event/RebootVoteEvent.java
+package cc.scaenacraft.rebootvote.api.event;
+
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import org.bukkit.event.Event;
+
+/**
+ * Base for RebootVote lifecycle events. Fired on the main thread, and only constructed
+ * when the concrete event type has listeners.
+ */
+public abstract class RebootVoteEvent extends Event {
+
+    private final SessionSnapshot snapshot;
+
+    protected RebootVoteEvent(SessionSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /** Session state right after the change this event reports. */
+    public SessionSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
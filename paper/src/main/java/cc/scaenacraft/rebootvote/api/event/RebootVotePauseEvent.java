@@ -0,0 +1,32 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/api/event/RebootVotePauseEvent.java
+package cc.scaenacraft.rebootvote.api.event;
+
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import org.bukkit.event.HandlerList;
+
+/** The countdown was paused by a first WAIT holder, or resumed when the last holder left/voted OK. */
+public final class RebootVotePauseEvent extends RebootVoteEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final boolean paused;
+
+    public RebootVotePauseEvent(SessionSnapshot snapshot, boolean paused) {
+        super(snapshot);
+        this.paused = paused;
+    }
+
+    /** True when paused, false when resumed. */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,24 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/api/event/RebootVoteStartEvent.java
+package cc.scaenacraft.rebootvote.api.event;
+
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import org.bukkit.event.HandlerList;
+
+/** A reboot vote session started its countdown. */
+public final class RebootVoteStartEvent extends RebootVoteEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    public RebootVoteStartEvent(SessionSnapshot snapshot) {
+        super(snapshot);
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
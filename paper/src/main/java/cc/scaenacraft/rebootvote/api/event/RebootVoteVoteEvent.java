@@ -0,0 +1,45 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/api/event/RebootVoteVoteEvent.java
+package cc.scaenacraft.rebootvote.api.event;
+
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.api.VoteChoice;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+
+/** A player cast (or repeated) a vote. */
+public final class RebootVoteVoteEvent extends RebootVoteEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Player player;
+    private final VoteChoice previous;
+    private final VoteChoice vote;
+
+    public RebootVoteVoteEvent(SessionSnapshot snapshot, Player player, VoteChoice previous, VoteChoice vote) {
+        super(snapshot);
+        this.player = player;
+        this.previous = previous;
+        this.vote = vote;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public VoteChoice getPreviousVote() {
+        return previous;
+    }
+
+    public VoteChoice getVote() {
+        return vote;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
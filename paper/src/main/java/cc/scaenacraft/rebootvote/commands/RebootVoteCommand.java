@@ -1,4 +1,4 @@
-// src/main/java/cc/scaenacraft/rebootvote/commands/RebootVoteCommand.java
+// paper/src/main/java/cc/scaenacraft/rebootvote/commands/RebootVoteCommand.java
 package cc.scaenacraft.rebootvote.commands;
 
 import cc.scaenacraft.rebootvote.RebootVotePlugin;
@@ -19,7 +19,7 @@ public final class RebootVoteCommand implements CommandExecutor {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
-            sender.sendMessage("Usage: /rebootvote <start|cancel|status|force|reload|stats reset> [seconds]");
+            sender.sendMessage("Usage: /rebootvote <start|cancel|status|force|reload|perf|history [n]|stats [reset|leaks]> [seconds]");
             return true;
         }
 
@@ -27,7 +27,7 @@ public final class RebootVoteCommand implements CommandExecutor {
 
         switch (sub) {
             case "start" -> {
-                int seconds = plugin.getConfig().getInt("default-reboot-time", 45);
+                int seconds = plugin.getSettings().defaultRebootSeconds;
                 if (args.length >= 2) {
                     try {
                         seconds = Integer.parseInt(args[1]);
@@ -50,20 +50,44 @@ public final class RebootVoteCommand implements CommandExecutor {
                 plugin.commandForce(sender);
                 return true;
             }
+            case "perf" -> {
+                plugin.commandPerf(sender);
+                return true;
+            }
+            case "history" -> {
+                int count = 5;
+                if (args.length >= 2) {
+                    try {
+                        count = Integer.parseInt(args[1]);
+                    } catch (NumberFormatException ignored) {
+                        sender.sendMessage("Invalid count. Showing the last " + count + ".");
+                    }
+                }
+                plugin.commandHistory(sender, count);
+                return true;
+            }
             case "reload" -> {
                 plugin.commandReload(sender);
                 return true;
             }
             case "stats" -> {
-                if (args.length >= 2 && args[1].equalsIgnoreCase("reset")) {
+                if (args.length == 1) {
+                    plugin.commandStats(sender);
+                    return true;
+                }
+                if (args[1].equalsIgnoreCase("reset")) {
                     plugin.commandStatsReset(sender);
                     return true;
                 }
-                sender.sendMessage("Usage: /rebootvote stats reset");
+                if (args[1].equalsIgnoreCase("leaks")) {
+                    plugin.commandStatsLeaks(sender);
+                    return true;
+                }
+                sender.sendMessage("Usage: /rebootvote stats [reset|leaks]");
                 return true;
             }
             default -> {
-                sender.sendMessage("Unknown subcommand. Use: start, cancel, status, force, reload, stats reset");
+                sender.sendMessage("Unknown subcommand. Use: start, cancel, status, force, reload, perf, history [n], stats [reset|leaks]");
                 return true;
             }
         }
@@ -1,4 +1,4 @@
-// src/main/java/cc/scaenacraft/rebootvote/commands/RebootVoteTabCompleter.java
+// paper/src/main/java/cc/scaenacraft/rebootvote/commands/RebootVoteTabCompleter.java
 package cc.scaenacraft.rebootvote.commands;
 
 import org.bukkit.command.Command;
@@ -16,7 +16,7 @@ public final class RebootVoteTabCompleter implements TabCompleter {
 
         if (args.length == 1) {
             String prefix = args[0].toLowerCase();
-            for (String s : List.of("start", "cancel", "status", "force", "reload", "stats")) {
+            for (String s : List.of("start", "cancel", "status", "force", "reload", "perf", "history", "stats")) {
                 if (s.startsWith(prefix)) out.add(s);
             }
             return out;
@@ -29,7 +29,7 @@ public final class RebootVoteTabCompleter implements TabCompleter {
 
         if (args.length == 2 && args[0].equalsIgnoreCase("stats")) {
             String prefix = args[1].toLowerCase();
-            for (String s : List.of("reset")) {
+            for (String s : List.of("reset", "leaks")) {
                 if (s.startsWith(prefix)) out.add(s);
             }
             return out;
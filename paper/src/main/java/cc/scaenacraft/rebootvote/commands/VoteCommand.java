@@ -0,0 +1,44 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/commands/VoteCommand.java
+package cc.scaenacraft.rebootvote.commands;
+
+import cc.scaenacraft.rebootvote.RebootVotePlugin;
+import cc.scaenacraft.rebootvote.Vote;
+import cc.scaenacraft.rebootvote.platform.PaperPlatform;
+import cc.scaenacraft.rebootvote.platform.Voter;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * Backs /ok and /wait: a direct, main-thread vote with no chat parsing involved.
+ */
+public final class VoteCommand implements CommandExecutor {
+
+    private final RebootVotePlugin plugin;
+    private final Vote vote;
+
+    public VoteCommand(RebootVotePlugin plugin, Vote vote) {
+        this.plugin = plugin;
+        this.vote = vote;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage("RebootVote: only players can vote.");
+            return true;
+        }
+
+        if (!plugin.isSessionActive()) {
+            sender.sendMessage("RebootVote: no reboot vote is running.");
+            return true;
+        }
+
+        Voter voter = PaperPlatform.voter(player);
+        if (plugin.admitVote(voter, vote)) {
+            plugin.handleVote(voter, vote);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/listeners/ActivityListener.java
+package cc.scaenacraft.rebootvote.listeners;
+
+import cc.scaenacraft.rebootvote.RebootVotePlugin;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+/**
+ * Feeds chat and interaction activity into idle detection. Registered for as long as the
+ * idle sampler runs, so activity before a vote starts counts as well. (Movement is
+ * sampled, not listened to.)
+ */
+public final class ActivityListener implements Listener {
+
+    private final RebootVotePlugin plugin;
+
+    public ActivityListener(RebootVotePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncChat(AsyncChatEvent event) {
+        plugin.noteActivity(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent event) {
+        plugin.noteActivity(event.getPlayer().getUniqueId());
+    }
+}
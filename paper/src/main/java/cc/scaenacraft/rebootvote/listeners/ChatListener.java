@@ -1,12 +1,13 @@
-// src/main/java/cc/scaenacraft/rebootvote/listeners/ChatListener.java
+// paper/src/main/java/cc/scaenacraft/rebootvote/listeners/ChatListener.java
 package cc.scaenacraft.rebootvote.listeners;
 
 import cc.scaenacraft.rebootvote.RebootVotePlugin;
 import cc.scaenacraft.rebootvote.Vote;
+import cc.scaenacraft.rebootvote.platform.PaperPlatform;
+import cc.scaenacraft.rebootvote.platform.Voter;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -24,6 +25,9 @@ public final class ChatListener implements Listener {
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onAsyncChat(AsyncChatEvent event) {
+        // Lock-free pre-filter: no point parsing chat once the vote stopped taking input.
+        if (!plugin.sessionSnapshot().acceptingVotes()) return;
+
         String msg = plain.serialize(event.message());
         if (msg == null) return;
 
@@ -35,11 +39,13 @@ public final class ChatListener implements Listener {
 
         String lowered = trimmed.toLowerCase(Locale.ROOT);
 
-        Vote vote = plugin.getVoteKeywords().classify(lowered);
-        if (vote == null) return;
+        Voter player = PaperPlatform.voter(event.getPlayer());
 
-        Player player = event.getPlayer();
+        Vote vote = plugin.getVoteKeywords().classify(player.locale(), lowered);
+        if (vote == null) return;
+        if (!plugin.admitVote(player, vote)) return;
 
+        plugin.noteIngressTask();
         Bukkit.getScheduler().runTask(plugin, () -> plugin.handleVote(player, vote));
     }
 }
@@ -1,11 +1,13 @@
-// src/main/java/cc/scaenacraft/rebootvote/listeners/JoinQuitListener.java
+// paper/src/main/java/cc/scaenacraft/rebootvote/listeners/JoinQuitListener.java
 package cc.scaenacraft.rebootvote.listeners;
 
 import cc.scaenacraft.rebootvote.RebootVotePlugin;
+import cc.scaenacraft.rebootvote.platform.PaperPlatform;
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 public final class JoinQuitListener implements Listener {
@@ -18,11 +20,19 @@ public final class JoinQuitListener implements Listener {
 
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
-        Bukkit.getScheduler().runTask(plugin, () -> plugin.handleJoin(event.getPlayer()));
+        plugin.noteIngressTask();
+        Bukkit.getScheduler().runTask(plugin, () -> plugin.handleJoin(PaperPlatform.voter(event.getPlayer())));
+    }
+
+    /** Fired on the main thread; the player's locale() may still be the old one here. */
+    @EventHandler
+    public void onLocaleChange(PlayerLocaleChangeEvent event) {
+        plugin.handleLocaleChange(PaperPlatform.voter(event.getPlayer()), event.locale());
     }
 
     @EventHandler
     public void onQuit(PlayerQuitEvent event) {
-        Bukkit.getScheduler().runTask(plugin, () -> plugin.handleQuit(event.getPlayer()));
+        plugin.noteIngressTask();
+        Bukkit.getScheduler().runTask(plugin, () -> plugin.handleQuit(PaperPlatform.voter(event.getPlayer())));
     }
 }
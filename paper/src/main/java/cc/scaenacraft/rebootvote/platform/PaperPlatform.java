@@ -0,0 +1,268 @@
+// paper/src/main/java/cc/scaenacraft/rebootvote/platform/PaperPlatform.java
+package cc.scaenacraft.rebootvote.platform;
+
+import cc.scaenacraft.rebootvote.api.CommitReason;
+import cc.scaenacraft.rebootvote.api.SessionSnapshot;
+import cc.scaenacraft.rebootvote.api.VoteChoice;
+import cc.scaenacraft.rebootvote.api.event.RebootVoteCancelEvent;
+import cc.scaenacraft.rebootvote.api.event.RebootVoteCommitEvent;
+import cc.scaenacraft.rebootvote.api.event.RebootVotePauseEvent;
+import cc.scaenacraft.rebootvote.api.event.RebootVoteStartEvent;
+import cc.scaenacraft.rebootvote.api.event.RebootVoteVoteEvent;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Paper adapter for {@link Platform}: Bukkit scheduler, main thread, online players, plugin
+ * manager and server. Also the conversions between Bukkit's players and senders and the
+ * core's {@link Voter} and {@link Sender} handles.
+ */
+public final class PaperPlatform {
+
+    private PaperPlatform() {}
+
+    public static Platform create(Plugin plugin) {
+        return new Platform(Clock.SYSTEM, new Scheduler(plugin), new Players(), new Events(), new Server());
+    }
+
+    /** The core's handle on an online player. Cheap; made per call. */
+    public static Voter voter(Player player) {
+        return new PaperVoter(player);
+    }
+
+    /** A player's sender is their {@link #voter}; anyone else (console, RCON, command blocks) has no locale. */
+    public static Sender sender(CommandSender sender) {
+        return sender instanceof Player p ? new PaperVoter(p) : new PaperSender(sender);
+    }
+
+    /** The Bukkit player behind a handle made here (for the API events). */
+    public static Player player(Voter voter) {
+        return ((PaperVoter) voter).player();
+    }
+
+    /** The Bukkit sender behind a handle made here (for the API events). */
+    public static CommandSender commandSender(Sender sender) {
+        return sender instanceof PaperVoter v ? v.player() : ((PaperSender) sender).sender();
+    }
+
+    private record PaperVoter(Player player) implements Voter, ForwardingAudience.Single {
+
+        @Override
+        public Audience audience() {
+            return player;
+        }
+
+        @Override
+        public UUID id() {
+            return player.getUniqueId();
+        }
+
+        @Override
+        public String name() {
+            return player.getName();
+        }
+
+        @Override
+        public Locale locale() {
+            return player.locale();
+        }
+
+        @Override
+        public boolean hasPermission(String permission) {
+            return player.hasPermission(permission);
+        }
+
+        @Override
+        public boolean isOnline() {
+            return player.isOnline();
+        }
+
+        @Override
+        public Position position() {
+            Location loc = player.getLocation();
+            UUID world = loc.getWorld() != null ? loc.getWorld().getUID() : null;
+            return new Position(world, loc.getX(), loc.getY(), loc.getZ(), loc.getYaw(), loc.getPitch());
+        }
+    }
+
+    private record PaperSender(CommandSender sender) implements Sender, ForwardingAudience.Single {
+
+        @Override
+        public Audience audience() {
+            return sender;
+        }
+
+        @Override
+        public String name() {
+            return sender.getName();
+        }
+
+        @Override
+        public Locale locale() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPermission(String permission) {
+            return sender.hasPermission(permission);
+        }
+    }
+
+    private record Scheduler(Plugin plugin) implements TaskScheduler {
+
+        private static final Task NONE = () -> {};
+
+        /* Bukkit refuses tasks from a disabled plugin; an async reload may still be finishing then. */
+
+        @Override
+        public Task repeat(Runnable task, long delayTicks, long periodTicks) {
+            if (!plugin.isEnabled()) return NONE;
+            BukkitTask t = Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+            return t::cancel;
+        }
+
+        @Override
+        public Task later(Runnable task, long delayTicks) {
+            if (!plugin.isEnabled()) return NONE;
+            BukkitTask t = Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+            return t::cancel;
+        }
+
+        @Override
+        public void async(Runnable task) {
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+        }
+
+        @Override
+        public boolean isOwnerThread() {
+            return Bukkit.isPrimaryThread();
+        }
+    }
+
+    private static final class Players implements PlayerDirectory {
+
+        /* A view over Bukkit's own live list, wrapping each player as it is visited. */
+        private final Collection<Voter> online = new AbstractCollection<>() {
+            @Override
+            public Iterator<Voter> iterator() {
+                Iterator<? extends Player> it = Bukkit.getOnlinePlayers().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Voter next() {
+                        return new PaperVoter(it.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return Bukkit.getOnlinePlayers().size();
+            }
+        };
+
+        @Override
+        public int onlineCount() {
+            return Bukkit.getOnlinePlayers().size();
+        }
+
+        @Override
+        public Collection<? extends Voter> online() {
+            return online;
+        }
+
+        @Override
+        public Voter player(UUID id) {
+            Player p = Bukkit.getPlayer(id);
+            return p != null ? new PaperVoter(p) : null;
+        }
+
+        @Override
+        public Voter player(Audience audience) {
+            return audience instanceof Player p ? new PaperVoter(p) : null;
+        }
+
+        @Override
+        public String nameOf(UUID id) {
+            Player p = Bukkit.getPlayer(id);
+            return p != null ? p.getName() : null;
+        }
+    }
+
+    /** Reports the session's lifecycle as the plugin's Bukkit API events. */
+    private static final class Events implements EventBus {
+
+        @Override
+        public boolean hasListeners(Kind kind) {
+            HandlerList handlers = switch (kind) {
+                case START -> RebootVoteStartEvent.getHandlerList();
+                case VOTE -> RebootVoteVoteEvent.getHandlerList();
+                case PAUSE -> RebootVotePauseEvent.getHandlerList();
+                case COMMIT -> RebootVoteCommitEvent.getHandlerList();
+                case CANCEL -> RebootVoteCancelEvent.getHandlerList();
+            };
+            return handlers.getRegisteredListeners().length > 0;
+        }
+
+        @Override
+        public void started(SessionSnapshot snapshot) {
+            Bukkit.getPluginManager().callEvent(new RebootVoteStartEvent(snapshot));
+        }
+
+        @Override
+        public void voted(SessionSnapshot snapshot, Voter voter, VoteChoice previous, VoteChoice vote) {
+            Bukkit.getPluginManager().callEvent(new RebootVoteVoteEvent(snapshot, player(voter), previous, vote));
+        }
+
+        @Override
+        public void paused(SessionSnapshot snapshot, boolean paused) {
+            Bukkit.getPluginManager().callEvent(new RebootVotePauseEvent(snapshot, paused));
+        }
+
+        @Override
+        public void committed(SessionSnapshot snapshot, CommitReason reason) {
+            Bukkit.getPluginManager().callEvent(new RebootVoteCommitEvent(snapshot, reason));
+        }
+
+        @Override
+        public void canceled(SessionSnapshot snapshot, Sender by) {
+            Bukkit.getPluginManager().callEvent(new RebootVoteCancelEvent(snapshot, commandSender(by)));
+        }
+    }
+
+    private static final class Server implements ServerControl {
+
+        @Override
+        public Audience console() {
+            return Bukkit.getConsoleSender();
+        }
+
+        @Override
+        public double averageTickMs() {
+            return Bukkit.getAverageTickTime();
+        }
+
+        @Override
+        public void shutdown() {
+            Bukkit.shutdown();
+        }
+    }
+}